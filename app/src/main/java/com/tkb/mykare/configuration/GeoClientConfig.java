@@ -0,0 +1,90 @@
+package com.tkb.mykare.configuration;
+
+import com.tkb.mykare.utils.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Outbound HTTP client used by IpLocationService: a pooled Apache HttpClient with bounded
+ * connect/read/pool-wait timeouts, plus the circuit breaker guarding the geolocation provider.
+ * Not created for the offline provider, which makes no outbound calls.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mykare.geo.provider", havingValue = "ip-api", matchIfMissing = true)
+public class GeoClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient geoHttpClient(@Value("${mykare.geo.http.connect-timeout:2s}") Duration connectTimeout,
+                                             @Value("${mykare.geo.http.read-timeout:3s}") Duration readTimeout,
+                                             @Value("${mykare.geo.http.max-connections:50}") int maxConnections) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * Built from the auto-configured builder so outbound calls are recorded as
+     * http.client.requests timers (by uri and status).
+     */
+    @Bean
+    public RestTemplate geoRestTemplate(RestTemplateBuilder builder, CloseableHttpClient geoHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(geoHttpClient))
+                .build();
+    }
+
+    @Bean
+    public CircuitBreaker geoCircuitBreaker(@Value("${mykare.geo.http.circuit-breaker.window-size:20}") int windowSize,
+                                            @Value("${mykare.geo.http.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                            @Value("${mykare.geo.http.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                            @Value("${mykare.geo.http.circuit-breaker.open-duration:30s}") Duration openDuration,
+                                            MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("ip-api", windowSize, minimumCalls, failureRateThreshold, openDuration);
+
+        Gauge.builder("geo.circuitbreaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+        Gauge.builder("geo.circuitbreaker.failure.rate", circuitBreaker, CircuitBreaker::getFailureRate)
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("geo.circuitbreaker.short.circuited", circuitBreaker, CircuitBreaker::getShortCircuitedCount)
+                .description("Lookups answered with the Unknown fallback while the breaker was open")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+}
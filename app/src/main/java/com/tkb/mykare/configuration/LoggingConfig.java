@@ -0,0 +1,67 @@
+package com.tkb.mykare.configuration;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.tkb.mykare.utils.EndpointLogMetricsTurboFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Tags log lines written while handling a request with the matched endpoint
+ * ({@code endpoint} MDC key, e.g. "POST /api/users/register") and publishes per-endpoint
+ * log rates as the {@code log.events} meter.
+ */
+@Configuration
+public class LoggingConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private EndpointLogMetricsTurboFilter logMetricsFilter;
+
+    @PostConstruct
+    public void registerLogMetrics() {
+        logMetricsFilter = new EndpointLogMetricsTurboFilter(meterRegistry);
+        logMetricsFilter.start();
+        // First in the chain so lines later dropped by sampling are still counted
+        loggerContext().getTurboFilterList().add(0, logMetricsFilter);
+    }
+
+    @PreDestroy
+    public void unregisterLogMetrics() {
+        loggerContext().getTurboFilterList().remove(logMetricsFilter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern != null) {
+                    MDC.put(EndpointLogMetricsTurboFilter.ENDPOINT_MDC_KEY, request.getMethod() + " " + pattern);
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                MDC.remove(EndpointLogMetricsTurboFilter.ENDPOINT_MDC_KEY);
+            }
+        });
+    }
+
+    private static LoggerContext loggerContext() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+}
@@ -0,0 +1,83 @@
+package com.tkb.mykare.configuration;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.tkb.mykare.service.TokenRevocationList;
+import com.tkb.mykare.service.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Signing key, encoder and decoder for the login access tokens (HS256 JWTs).
+ *
+ * The key comes from mykare.auth.token.secret (base64, at least 256 bits). Without one a random
+ * key is generated at startup, so tokens do not survive a restart and are not accepted by
+ * other instances.
+ */
+@Configuration
+public class TokenConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenConfig.class);
+    private static final int MIN_KEY_BYTES = 32;
+
+    @Bean
+    public SecretKey tokenSigningKey(@Value("${mykare.auth.token.secret:}") String secret) {
+        byte[] key;
+        if (secret.isBlank()) {
+            logger.warn("mykare.auth.token.secret is not set; using a random signing key for this process only");
+            key = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret.trim());
+            if (key.length < MIN_KEY_BYTES) {
+                throw new IllegalStateException("mykare.auth.token.secret must be at least 256 bits");
+            }
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    /** Checks signature, expiry, issuer and the revocation list; nothing is looked up per request. */
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSigningKey,
+                                 TokenRevocationList revocationList,
+                                 @Value("${mykare.auth.token.issuer:mykare}") String issuer) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(tokenSigningKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuer), revocationList));
+        return decoder;
+    }
+
+    /** Maps the roles claim to ROLE_* authorities, as hasRole('ADMIN') expects. */
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(TokenService.ROLES_CLAIM);
+        authorities.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
+}
@@ -0,0 +1,56 @@
+package com.tkb.mykare.configuration;
+
+import com.tkb.mykare.utils.RepositoryTracingInterceptor;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Tracing through Micrometer Tracing's OpenTelemetry bridge. Spans come from:
+ * <ul>
+ *   <li>incoming requests and outbound RestTemplate calls (Spring's built-in observations)</li>
+ *   <li>UserController and UserService methods ({@code @Observed})</li>
+ *   <li>registration and login phases (UserService)</li>
+ *   <li>every repository call (the post-processor below)</li>
+ * </ul>
+ *
+ * Finished spans are written as OTLP JSON, one ResourceSpans object per line, to the file set
+ * by mykare.tracing.file (see logback-spring.xml). This works offline, and the file can be
+ * replayed into a collector's otlpjsonfile receiver. Set mykare.tracing.exporter=none to keep
+ * trace ids in the logs without writing spans.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mykare.tracing.exporter", havingValue = "file", matchIfMissing = true)
+    public SpanExporter otlpJsonFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    /**
+     * Adds {@link RepositoryTracingInterceptor} to every Spring Data repository proxy. Static,
+     * and resolving the tracer lazily, so registering the post-processor does not initialise
+     * the tracing beans early.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryTracingInterceptor(
+                                    tracer::getIfAvailable, repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.tkb.mykare.configuration;
+
+import com.tkb.mykare.utils.InvalidationBroadcaster;
+import com.tkb.mykare.utils.LocalInvalidationBroadcaster;
+import com.tkb.mykare.utils.UdpInvalidationBroadcaster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.List;
+
+/**
+ * Transport for UserCache and CredentialCache invalidations, chosen by
+ * mykare.user-cache.invalidation.transport: local keeps them in this JVM (single node), udp sends
+ * them to the listed peers so every node evicts a user deleted or changed on any of them.
+ */
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mykare.user-cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+    public InvalidationBroadcaster localInvalidationBroadcaster() {
+        return new LocalInvalidationBroadcaster();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "mykare.user-cache.invalidation.transport", havingValue = "udp")
+    public UdpInvalidationBroadcaster udpInvalidationBroadcaster(
+            @Value("${mykare.user-cache.invalidation.udp.bind-address:0.0.0.0}") String bindAddress,
+            @Value("${mykare.user-cache.invalidation.udp.port:7600}") int port,
+            @Value("${mykare.user-cache.invalidation.udp.peers:}") List<String> peers) throws SocketException {
+        return new UdpInvalidationBroadcaster(new InetSocketAddress(bindAddress, port), UdpInvalidationBroadcaster.parsePeers(peers));
+    }
+}
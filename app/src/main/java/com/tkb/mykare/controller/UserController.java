@@ -0,0 +1,254 @@
+package com.tkb.mykare.controller;
+
+import com.tkb.mykare.dto.BulkDeleteRequestDto;
+import com.tkb.mykare.dto.BulkDeleteResultDto;
+import com.tkb.mykare.dto.GeoEnrichmentStatusDto;
+import com.tkb.mykare.dto.UserLoginDto;
+import com.tkb.mykare.dto.UserRegistrationDto;
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.exception.UserAlreadyExistsException;
+import com.tkb.mykare.service.BulkImportService;
+import com.tkb.mykare.service.GeoEnrichmentService;
+import com.tkb.mykare.service.TokenService;
+import com.tkb.mykare.service.UserService;
+import com.tkb.mykare.utils.ClientIpResolver;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@Observed(name = "user.controller")
+@RequestMapping("/api/users")
+@Tag(name = "User Management", description = "APIs for user registration, authentication, and management")
+public class UserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private GeoEnrichmentService geoEnrichmentService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+
+    @PostMapping("/register")
+    @Operation(summary = "Register a new user", description = "Register a new user with basic details and capture IP/location information")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "User registered successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "409", description = "User already exists")
+    })
+    public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto,
+                                          HttpServletRequest request) {
+        logger.info("Registration attempt for user: {}", registrationDto.getEmail());
+        try {
+            UserResponseDto user = userService.registerUser(registrationDto, clientIpResolver.resolve(request.getRemoteAddr(), name -> Collections.list(request.getHeaders(name))));
+            return ResponseEntity.status(HttpStatus.CREATED).body(user);
+        } catch (UserAlreadyExistsException e) {
+            logger.warn("Registration rejected, email already registered: {}", registrationDto.getEmail());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+    }
+
+    @PostMapping("/login")
+    @Operation(summary = "Validate user credentials", description = "Validate user email and password and issue a short-lived "
+            + "access token; send it as 'Authorization: Bearer <token>' instead of Basic credentials")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Login successful"),
+            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+    })
+    public ResponseEntity<?> loginUser(@Valid @RequestBody UserLoginDto loginDto) {
+        logger.debug("Login attempt for user: {}", loginDto.getEmail());
+
+        Optional<Role> role = userService.authenticate(loginDto.getEmail(), loginDto.getPassword());
+
+        Map<String, Object> response = new HashMap<>();
+        if (role.isPresent()) {
+            Jwt token = tokenService.issue(loginDto.getEmail(), role.get());
+            response.put("message", "Login successful");
+            response.put("email", loginDto.getEmail());
+            response.put("accessToken", token.getTokenValue());
+            response.put("tokenType", "Bearer");
+            response.put("expiresIn", tokenService.getTtl().toSeconds());
+            return ResponseEntity.ok(response);
+        } else {
+            response.put("message", "Invalid credentials");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+    }
+
+    @PostMapping("/logout")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Revoke the current access token", description = "The bearer token of this request is rejected from now on")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token revoked"),
+            @ApiResponse(responseCode = "400", description = "Request was not authenticated with a bearer token"),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or already revoked token")
+    })
+    public ResponseEntity<Map<String, String>> logoutUser(Authentication authentication) {
+        Map<String, String> response = new HashMap<>();
+        if (!(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+            response.put("message", "Only bearer tokens can be revoked");
+            return ResponseEntity.badRequest().body(response);
+        }
+        tokenService.revoke(jwtAuthentication.getToken());
+        response.put("message", "Logged out");
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @SecurityRequirement(name = "basicAuth")
+    @Operation(summary = "Get all users", description = "Retrieve registered users one page at a time, in id order (Admin only). "
+            + "Without paging parameters the first " + DEFAULT_PAGE_SIZE + " users are returned; pass after (the X-Next-Cursor "
+            + "of the previous page) for the next page. Use /export to fetch every user in one request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public ResponseEntity<List<UserResponseDto>> getAllUsers(
+            @Parameter(description = "Return users with an id greater than this cursor")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-" + MAX_PAGE_SIZE + ", default " + DEFAULT_PAGE_SIZE + ")")
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+        List<UserResponseDto> users = userService.getUsersAfter(after != null ? after : 0L, pageSize);
+        HttpHeaders headers = new HttpHeaders();
+        if (users.size() == pageSize) {
+            headers.add("X-Next-Cursor", String.valueOf(users.get(users.size() - 1).getId()));
+        }
+        return ResponseEntity.ok().headers(headers).body(users);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @SecurityRequirement(name = "basicAuth")
+    @Operation(summary = "Export all users", description = "Stream every user as newline-delimited JSON (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users streamed successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        userService.exportUsers(response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV}, produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @SecurityRequirement(name = "basicAuth")
+    @Operation(summary = "Import users in bulk", description = "Register users from a newline-delimited JSON or CSV (header: "
+            + "name,email,gender,password) stream; one result line is streamed back per record (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see the status of each result line"),
+            @ApiResponse(responseCode = "400", description = "CSV header is missing required columns"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BulkImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV)) ? BulkImportService.Format.CSV : BulkImportService.Format.NDJSON;
+        logger.info("Bulk import started ({})", format);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        bulkImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+
+    @DeleteMapping("/{email}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @SecurityRequirement(name = "basicAuth")
+    @Operation(summary = "Delete user by email", description = "Delete a user by email (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public ResponseEntity<?> deleteUser(
+            @Parameter(description = "Email of the user to delete", required = true)
+            @PathVariable String email) {
+        boolean deleted = userService.deleteUserByEmail(email);
+
+        Map<String, String> response = new HashMap<>();
+        if (deleted) {
+            response.put("message", "User deleted successfully");
+            return ResponseEntity.ok(response);
+        } else {
+            response.put("message", "User not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+
+        }
+    }
+
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @SecurityRequirement(name = "basicAuth")
+    @Operation(summary = "Delete users by email in bulk", description = "Delete every listed user in one database batch (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion processed; unknown emails are listed in notFound"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public ResponseEntity<BulkDeleteResultDto> deleteUsers(@Valid @RequestBody BulkDeleteRequestDto request) {
+        return ResponseEntity.ok(userService.deleteUsersByEmail(request.getEmails()));
+    }
+
+    @GetMapping("/geo-enrichment/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @SecurityRequirement(name = "basicAuth")
+    @Operation(summary = "Geo enrichment backlog", description = "Queue depth and progress of the asynchronous IP/country enrichment (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public ResponseEntity<GeoEnrichmentStatusDto> getGeoEnrichmentStatus() {
+        return ResponseEntity.ok(geoEnrichmentService.getStatus());
+    }
+
+}
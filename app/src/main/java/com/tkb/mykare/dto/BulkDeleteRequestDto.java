@@ -0,0 +1,26 @@
+package com.tkb.mykare.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkDeleteRequestDto {
+
+    @NotEmpty(message = "At least one email is required")
+    @Size(max = 10000, message = "At most 10000 emails per request")
+    private List<@NotBlank @Email(message = "Email should be valid") String> emails;
+
+    // Constructors
+    public BulkDeleteRequestDto() {}
+
+    public BulkDeleteRequestDto(List<String> emails) {
+        this.emails = emails;
+    }
+
+    // Getters and Setters
+    public List<String> getEmails() { return emails; }
+    public void setEmails(List<String> emails) { this.emails = emails; }
+}
@@ -0,0 +1,23 @@
+package com.tkb.mykare.dto;
+
+import java.util.List;
+
+public class BulkDeleteResultDto {
+    private int deleted;
+    private List<String> notFound;
+
+    // Constructors
+    public BulkDeleteResultDto() {}
+
+    public BulkDeleteResultDto(int deleted, List<String> notFound) {
+        this.deleted = deleted;
+        this.notFound = notFound;
+    }
+
+    // Getters and Setters
+    public int getDeleted() { return deleted; }
+    public void setDeleted(int deleted) { this.deleted = deleted; }
+
+    public List<String> getNotFound() { return notFound; }
+    public void setNotFound(List<String> notFound) { this.notFound = notFound; }
+}
@@ -0,0 +1,56 @@
+package com.tkb.mykare.dto;
+
+/**
+ * Snapshot of the async geo enrichment queue. Counters are cumulative since startup.
+ */
+public class GeoEnrichmentStatusDto {
+    private boolean enabled;
+    private int queueDepth;
+    private int queueCapacity;
+    /** Age of the entry at the head of the queue, 0 when the queue is empty. */
+    private long oldestPendingMillis;
+    /** Lookups accepted onto the queue, including those re-queued by the backfill sweep. */
+    private long enqueued;
+    /** Users whose ip_address/country were written back. */
+    private long completed;
+    /**
+     * Lookups dropped because the queue was full (or async enrichment is off). The user keeps
+     * its IP address with no country until the next backfill sweep re-queues it.
+     */
+    private long rejected;
+    /** Lookups lost in a batch that threw; also retried by the backfill sweep. */
+    private long failed;
+    /** Lookups re-queued by the backfill sweep; a subset of enqueued. */
+    private long backfilled;
+
+    // Constructors
+    public GeoEnrichmentStatusDto() {}
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public long getOldestPendingMillis() { return oldestPendingMillis; }
+    public void setOldestPendingMillis(long oldestPendingMillis) { this.oldestPendingMillis = oldestPendingMillis; }
+
+    public long getEnqueued() { return enqueued; }
+    public void setEnqueued(long enqueued) { this.enqueued = enqueued; }
+
+    public long getCompleted() { return completed; }
+    public void setCompleted(long completed) { this.completed = completed; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public long getBackfilled() { return backfilled; }
+    public void setBackfilled(long backfilled) { this.backfilled = backfilled; }
+}
@@ -0,0 +1,43 @@
+package com.tkb.mykare.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResultDto {
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    private long line;
+    private String email;
+    private Status status;
+    private Long id;
+    private String message;
+
+    // Constructors
+    public ImportResultDto() {}
+
+    public ImportResultDto(long line, String email, Status status, String message) {
+        this.line = line;
+        this.email = email;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -6,11 +6,19 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
-public class User {
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
+public class User implements UserProfile {
+
+    /**
+     * Ids come from users_seq in blocks of this size (pooled-lo: the sequence value is the
+     * first id of the block), so Hibernate can batch inserts without a round trip per row.
+     * Must match the sequence INCREMENT BY.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -43,14 +51,6 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    public enum Gender {
-        MALE, FEMALE, OTHER
-    }
-
-    public enum Role {
-        USER, ADMIN
-    }
-
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
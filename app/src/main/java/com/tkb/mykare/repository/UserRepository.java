@@ -0,0 +1,59 @@
+package com.tkb.mykare.repository;
+
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+    public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    Optional<User> findByEmail(String email);
+    boolean existsByEmail(String email);
+
+    // Role only, for issuing a token when the password check was answered from the credential cache
+    @Query("select u.role from User u where u.email = :email")
+    Optional<Role> findRoleByEmail(@Param("email") String email);
+
+    // Single DELETE statement; returns the number of rows removed (0 or 1)
+    @Modifying
+    @Query("delete from User u where u.email = :email")
+    int deleteByEmail(@Param("email") String email);
+
+    // Targeted hash upgrade for callers that hold a detached entity
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password, u.updatedAt = CURRENT_TIMESTAMP where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Listing reads only the columns UserResponseDto exposes; no entities, no password hashes
+    @Query("select new com.tkb.mykare.dto.UserResponseDto(u.id, u.name, u.email, u.gender, u.ipAddress, u.country, u.role, u.createdAt) "
+            + "from User u order by u.id")
+    List<UserResponseDto> findAllSummaries();
+
+    // Keyset page: rows strictly after the given id, in id order
+    @Query("select new com.tkb.mykare.dto.UserResponseDto(u.id, u.name, u.email, u.gender, u.ipAddress, u.country, u.role, u.createdAt) "
+            + "from User u where u.id > :afterId order by u.id")
+    List<UserResponseDto> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.tkb.mykare.dto.UserResponseDto(u.id, u.name, u.email, u.gender, u.ipAddress, u.country, u.role, u.createdAt) "
+            + "from User u order by u.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserResponseDto> streamAllSummaries();
+
+    @Query("select u.email from User u")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.tkb.mykare.repository;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Writes the resolved IP address and country for each user id in a single JDBC batch.
+     * Returns the per-row update counts in iteration order of the map.
+     */
+    int[] batchUpdateLocations(Map<Long, IpLocationDto> locationsByUserId);
+
+    /**
+     * Deletes users by email in a single JDBC batch.
+     * Returns the per-email deleted row counts in the order given.
+     */
+    int[] batchDeleteByEmail(List<String> emails);
+
+    /**
+     * Inserts new users in a single JDBC batch, bypassing the persistence context.
+     * Users without an id are assigned one from users_seq before the insert.
+     * Returns the per-row insert counts in the order given.
+     */
+    int[] batchInsertUsers(List<User> users);
+
+    /** Returns the subset of the given emails that already belong to a user, in one query. */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Returns up to limit users that have an IP address but no country yet, oldest id first,
+     * mapped to that address. Imported users (no IP at all) are not included.
+     */
+    Map<Long, String> findMissingLocations(int limit);
+}
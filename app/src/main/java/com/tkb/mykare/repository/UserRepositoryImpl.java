@@ -0,0 +1,141 @@
+package com.tkb.mykare.repository;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.entity.User;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String UPDATE_LOCATION_SQL =
+            "UPDATE users SET ip_address = ?, country = ?, updated_at = ? WHERE id = ?";
+
+    private static final String DELETE_BY_EMAIL_SQL = "DELETE FROM users WHERE email = ?";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, name, email, gender, password, ip_address, country, role, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String USER_ID_SEQUENCE = "users_seq";
+
+    private static final String EXISTING_EMAILS_SQL = "SELECT email FROM users WHERE email IN (:emails)";
+
+    private static final String MISSING_LOCATIONS_SQL =
+            "SELECT id, ip_address FROM users WHERE country IS NULL AND ip_address IS NOT NULL ORDER BY id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private DataFieldMaxValueIncrementer userIdSequence;
+
+    @PostConstruct
+    void init() throws MetaDataAccessException {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        userIdSequence = "PostgreSQL".equals(product)
+                ? new PostgresSequenceMaxValueIncrementer(dataSource, USER_ID_SEQUENCE)
+                : new H2SequenceMaxValueIncrementer(dataSource, USER_ID_SEQUENCE);
+    }
+
+    @Override
+    public int[] batchUpdateLocations(Map<Long, IpLocationDto> locationsByUserId) {
+        if (locationsByUserId.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(locationsByUserId.size());
+        for (Map.Entry<Long, IpLocationDto> entry : locationsByUserId.entrySet()) {
+            IpLocationDto location = entry.getValue();
+            batchArgs.add(new Object[]{location.getIp(), location.getCountry(), now, entry.getKey()});
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_LOCATION_SQL, batchArgs);
+    }
+
+    @Override
+    public int[] batchDeleteByEmail(List<String> emails) {
+        if (emails.isEmpty()) {
+            return new int[0];
+        }
+        List<Object[]> batchArgs = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            batchArgs.add(new Object[]{email});
+        }
+        return jdbcTemplate.batchUpdate(DELETE_BY_EMAIL_SQL, batchArgs);
+    }
+
+    @Override
+    public int[] batchInsertUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return new int[0];
+        }
+        assignIds(users);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(users.size());
+        for (User user : users) {
+            batchArgs.add(new Object[]{user.getId(), user.getName(), user.getEmail(), user.getGender().name(), user.getPassword(),
+                    user.getIpAddress(), user.getCountry(), user.getRole().name(), now, now});
+        }
+        return jdbcTemplate.batchUpdate(INSERT_USER_SQL, batchArgs);
+    }
+
+    /**
+     * Gives every user without an id one from users_seq, using the same pooled-lo blocks as
+     * Hibernate: one sequence call covers {@link User#ID_ALLOCATION_SIZE} rows.
+     */
+    private void assignIds(List<User> users) {
+        long next = 0;
+        long blockEnd = 0;
+        for (User user : users) {
+            if (user.getId() != null) {
+                continue;
+            }
+            if (next >= blockEnd) {
+                next = userIdSequence.nextLongValue();
+                blockEnd = next + User.ID_ALLOCATION_SIZE;
+            }
+            user.setId(next++);
+        }
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                EXISTING_EMAILS_SQL, Map.of("emails", emails), String.class));
+    }
+
+    @Override
+    public Map<Long, String> findMissingLocations(int limit) {
+        Map<Long, String> ipAddressesByUserId = new LinkedHashMap<>();
+        if (limit <= 0) {
+            return ipAddressesByUserId;
+        }
+        jdbcTemplate.query(MISSING_LOCATIONS_SQL,
+                rs -> { ipAddressesByUserId.put(rs.getLong("id"), rs.getString("ip_address")); }, limit);
+        return ipAddressesByUserId;
+    }
+}
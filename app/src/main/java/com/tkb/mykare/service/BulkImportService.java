@@ -0,0 +1,358 @@
+package com.tkb.mykare.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tkb.mykare.dto.ImportResultDto;
+import com.tkb.mykare.dto.UserRegistrationDto;
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.exception.ImportFormatException;
+import com.tkb.mykare.repository.UserRepository;
+import com.tkb.mykare.utils.CsvUtils;
+import com.tkb.mykare.utils.PasswordUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Streams users from NDJSON or CSV into the database in chunks.
+ *
+ * Each chunk is validated, de-duplicated against itself and against existing emails with one
+ * query, hashed in parallel on a dedicated pool (so an import does not starve interactive
+ * logins of the request-path hashing pool), and written with one JDBC batch in its own
+ * transaction. If the batch hits a constraint violation (a concurrent registration won the
+ * race) the chunk is retried row by row so only the offending records fail. One result line
+ * per input record is written as soon as its chunk commits.
+ *
+ * Imported users have no request IP, so ip_address/country are left empty.
+ *
+ * Passwords are plain text and hashed on import. Pre-encoded {bcrypt} hashes are only stored
+ * as-is when mykare.import.accept-encoded-passwords is set, and only at no less than the
+ * configured BCrypt cost; any other {id}-prefixed value is rejected while the flag is on.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    /** Already-encoded BCrypt hashes (e.g. exported from another system), stored as-is when allowed. */
+    private static final Pattern ENCODED_BCRYPT = Pattern.compile("^\\{bcrypt}\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final Pattern ENCODER_ID = Pattern.compile("^\\{([^}]*)}");
+    private static final List<String> CSV_COLUMNS = List.of("name", "email", "gender", "password");
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${mykare.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${mykare.import.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${mykare.import.accept-encoded-passwords:false}")
+    private boolean acceptEncodedPasswords;
+
+    @Value("${mykare.auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    private ExecutorService hashingPool;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void start() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        hashingPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "import-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void stop() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * Imports every record from the input and writes one {@link ImportResultDto} per record to
+     * the output as NDJSON. Returns the number of records per result status.
+     */
+    public Map<ImportResultDto.Status, Long> importUsers(InputStream input, Format format, OutputStream output)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> csvColumns = format == Format.CSV ? readCsvHeader(reader) : null;
+
+        Map<ImportResultDto.Status, Long> counts = new EnumMap<>(ImportResultDto.Status.class);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = csvColumns != null ? 1 : 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(parse(lineNumber, line, csvColumns));
+                if (chunk.size() >= chunkSize) {
+                    writeResults(processChunk(chunk), writer, generator, counts);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeResults(processChunk(chunk), writer, generator, counts);
+            }
+        }
+        logger.info("User import finished: {}", counts);
+        return counts;
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new ImportFormatException("CSV import is empty");
+        }
+        String[] names = CsvUtils.splitLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i].toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = CSV_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new ImportFormatException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private ImportRecord parse(long lineNumber, String line, Map<String, Integer> csvColumns) {
+        ImportRecord record = new ImportRecord(lineNumber);
+        try {
+            if (csvColumns == null) {
+                record.dto = objectMapper.readValue(line, UserRegistrationDto.class);
+            } else {
+                String[] fields = CsvUtils.splitLine(line);
+                UserRegistrationDto dto = new UserRegistrationDto();
+                record.dto = dto;
+                dto.setName(field(fields, csvColumns.get("name")));
+                dto.setEmail(field(fields, csvColumns.get("email")));
+                String gender = field(fields, csvColumns.get("gender"));
+                dto.setGender(gender != null ? Gender.valueOf(gender.toUpperCase(Locale.ROOT)) : null);
+                dto.setPassword(field(fields, csvColumns.get("password")));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            record.fail(ImportResultDto.Status.INVALID, "Unreadable record: " + e.getMessage());
+        }
+        return record;
+    }
+
+    private static String field(String[] fields, int index) {
+        return index < fields.length && !fields[index].isEmpty() ? fields[index] : null;
+    }
+
+    List<ImportResultDto> processChunk(List<ImportRecord> chunk) {
+        List<ImportRecord> candidates = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (ImportRecord record : chunk) {
+            if (record.result != null) {
+                continue;
+            }
+            Set<ConstraintViolation<UserRegistrationDto>> violations = validator.validate(record.dto);
+            String passwordProblem = violations.isEmpty() ? encodedPasswordProblem(record.dto.getPassword()) : null;
+            if (!violations.isEmpty()) {
+                record.fail(ImportResultDto.Status.INVALID, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (passwordProblem != null) {
+                record.fail(ImportResultDto.Status.INVALID, passwordProblem);
+            } else if (!seen.add(record.dto.getEmail())) {
+                record.fail(ImportResultDto.Status.DUPLICATE, "Email appears earlier in the import");
+            } else {
+                candidates.add(record);
+            }
+        }
+
+        Set<String> existing = userRepository.findExistingEmails(seen);
+        candidates.removeIf(record -> {
+            if (existing.contains(record.dto.getEmail())) {
+                record.fail(ImportResultDto.Status.DUPLICATE, "User with email " + record.dto.getEmail() + " already exists");
+                return true;
+            }
+            return false;
+        });
+
+        List<User> users = hashAll(candidates);
+        insert(candidates, users);
+
+        List<ImportResultDto> results = new ArrayList<>(chunk.size());
+        for (ImportRecord record : chunk) {
+            results.add(record.result);
+        }
+        return results;
+    }
+
+    private List<User> hashAll(List<ImportRecord> candidates) {
+        List<CompletableFuture<User>> futures = new ArrayList<>(candidates.size());
+        for (ImportRecord record : candidates) {
+            futures.add(CompletableFuture.supplyAsync(() -> toUser(record.dto), hashingPool));
+        }
+        List<User> users = new ArrayList<>(futures.size());
+        for (CompletableFuture<User> future : futures) {
+            users.add(future.join());
+        }
+        return users;
+    }
+
+    private User toUser(UserRegistrationDto dto) {
+        User user = new User();
+        user.setName(dto.getName());
+        user.setEmail(dto.getEmail());
+        user.setGender(dto.getGender());
+        String password = dto.getPassword();
+        boolean preEncoded = acceptEncodedPasswords && ENCODED_BCRYPT.matcher(password).matches();
+        user.setPassword(preEncoded ? password : passwordEncoder.encode(password));
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    /** Why a pre-encoded password may not be imported, or null if the password is fine. */
+    private String encodedPasswordProblem(String password) {
+        boolean bcrypt = ENCODED_BCRYPT.matcher(password).matches();
+        if (!acceptEncodedPasswords) {
+            return bcrypt ? "Pre-encoded passwords are not accepted (mykare.import.accept-encoded-passwords)" : null;
+        }
+        Matcher encoderId = ENCODER_ID.matcher(password);
+        if (!encoderId.find()) {
+            return null;
+        }
+        if (!bcrypt) {
+            return "Unsupported encoded password {" + encoderId.group(1) + "}: only {bcrypt} hashes can be imported";
+        }
+        int cost = PasswordUtils.bcryptCost(password);
+        if (cost < bcryptStrength) {
+            return "BCrypt cost " + cost + " is below the required " + bcryptStrength;
+        }
+        return null;
+    }
+
+    private void insert(List<ImportRecord> candidates, List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.batchInsertUsers(users));
+            for (int i = 0; i < candidates.size(); i++) {
+                created(candidates.get(i), users.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Ids assigned to the rolled-back batch are kept for the retries below
+            logger.warn("Import batch of {} rows rejected, retrying row by row: {}", users.size(), e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < candidates.size(); i++) {
+                insertOne(candidates.get(i), users.get(i));
+            }
+        }
+    }
+
+    private void insertOne(ImportRecord record, User user) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.batchInsertUsers(List.of(user)));
+            created(record, user);
+        } catch (DataAccessException e) {
+            // Only the email unique constraint means a duplicate; NOT NULL, length and other violations are failures
+            if (e instanceof DataIntegrityViolationException violation && UserService.isEmailConstraintViolation(violation)) {
+                record.fail(ImportResultDto.Status.DUPLICATE, "User with email " + user.getEmail() + " already exists");
+            } else {
+                record.fail(ImportResultDto.Status.FAILED, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void created(ImportRecord record, User user) {
+        emailBloomFilter.put(user.getEmail());
+        record.result = new ImportResultDto(record.line, user.getEmail(), ImportResultDto.Status.CREATED, null);
+        record.result.setId(user.getId());
+    }
+
+    private static void writeResults(List<ImportResultDto> results, ObjectWriter writer, JsonGenerator generator,
+                                     Map<ImportResultDto.Status, Long> counts) throws IOException {
+        for (ImportResultDto result : results) {
+            writer.writeValue(generator, result);
+            generator.writeRaw('\n');
+            counts.merge(result.getStatus(), 1L, Long::sum);
+        }
+        generator.flush();
+    }
+
+    static final class ImportRecord {
+        final long line;
+        UserRegistrationDto dto;
+        ImportResultDto result;
+
+        ImportRecord(long line) {
+            this.line = line;
+        }
+
+        void fail(ImportResultDto.Status status, String message) {
+            result = new ImportResultDto(line, dto != null ? dto.getEmail() : null, status, message);
+        }
+    }
+}
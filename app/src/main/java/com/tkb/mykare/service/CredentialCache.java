@@ -0,0 +1,112 @@
+package com.tkb.mykare.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tkb.mykare.utils.InvalidationBroadcaster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Short-lived cache of credentials that recently passed a full password check.
+ *
+ * Only an HMAC-SHA256 of the presented password is kept, under a key generated at startup
+ * that never leaves the process, so a heap dump does not yield anything reusable. Entries
+ * are dropped on TTL, on size pressure, and explicitly whenever the user's password or
+ * account changes: on this node, again after the surrounding transaction commits, and on every
+ * other node through the {@link InvalidationBroadcaster}. The TTL bounds how long another node
+ * keeps accepting a deleted user's password when a broadcast is lost (or with the local
+ * transport on more than one node).
+ */
+@Component
+public class CredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Cache<String, byte[]> cache;
+    private final Mac prototype;
+    private final InvalidationBroadcaster broadcaster;
+
+    public CredentialCache(@Value("${mykare.auth.credential-cache.enabled:false}") boolean enabled,
+                           @Value("${mykare.auth.credential-cache.max-size:10000}") long maxSize,
+                           @Value("${mykare.auth.credential-cache.ttl:5m}") Duration ttl,
+                           InvalidationBroadcaster broadcaster) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.broadcaster = broadcaster;
+        if (enabled) {
+            broadcaster.subscribe(cache::invalidate);
+        }
+        try {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            this.prototype = Mac.getInstance(HMAC_ALGORITHM);
+            this.prototype.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** True only if this exact email/password pair was verified within the TTL. */
+    public boolean matches(String email, String password) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] stored = cache.getIfPresent(email);
+        return stored != null && MessageDigest.isEqual(stored, digest(email, password));
+    }
+
+    public void put(String email, String password) {
+        if (enabled) {
+            cache.put(email, digest(email, password));
+        }
+    }
+
+    /** Drops the entry on every node, now and once more after the current transaction commits. */
+    public void invalidate(String email) {
+        if (!enabled) {
+            return;
+        }
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(email);
+                    broadcaster.publish(email);
+                }
+            });
+        } else {
+            broadcaster.publish(email);
+        }
+    }
+
+    private byte[] digest(String email, String password) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        mac.update(email.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.repository.UserRepository;
+import com.tkb.mykare.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over registered emails, used to turn away obvious duplicate signups before
+ * any password hashing happens.
+ *
+ * A hit still has to be confirmed with existsByEmail. A miss is never treated as proof of
+ * absence either: the unique constraint on users.email stays the source of truth. That is
+ * why the filter is safe to consult before warm-up has finished and after deletes.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final boolean enabled;
+    private final BloomFilter filter;
+
+    public EmailBloomFilter(@Value("${mykare.registration.email-bloom-filter.enabled:false}") boolean enabled,
+                            @Value("${mykare.registration.email-bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${mykare.registration.email-bloom-filter.false-positive-probability:0.01}") double fpp) {
+        this.enabled = enabled;
+        this.filter = enabled ? new BloomFilter(expectedInsertions, fpp) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean mightContain(String email) {
+        return enabled && filter.mightContain(email);
+    }
+
+    public void put(String email) {
+        if (enabled) {
+            filter.put(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long count = 0;
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            for (String email : (Iterable<String>) emails::iterator) {
+                filter.put(email);
+                count++;
+            }
+        }
+        logger.info("Email Bloom filter warmed with {} addresses ({} bits, {} hashes)", count, filter.bitSize(), filter.hashCount());
+    }
+}
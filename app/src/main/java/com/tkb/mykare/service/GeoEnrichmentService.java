@@ -0,0 +1,236 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.GeoEnrichmentStatusDto;
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills in ip_address/country for users that were saved without them.
+ * Registrations are queued on a bounded queue and a single worker thread resolves
+ * them in batches, writing the results back with one JDBC batch per drain.
+ *
+ * The queue lives in memory, so lookups dropped on a full queue, lost in a failed batch or
+ * pending at shutdown are picked up again by a backfill sweep: whenever the queue has been
+ * idle for a backfill interval, the worker re-queues users that have an IP address but no
+ * country yet.
+ */
+@Service
+public class GeoEnrichmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoEnrichmentService.class);
+
+    @Autowired
+    private IpLocationService ipLocationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${mykare.geo.enrichment.async:false}")
+    private boolean enabled;
+
+    @Value("${mykare.geo.enrichment.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${mykare.geo.enrichment.batch-size:100}")
+    private int batchSize;
+
+    @Value("${mykare.geo.enrichment.backfill-interval:5m}")
+    private Duration backfillInterval;
+
+    private BlockingQueue<PendingLookup> queue;
+    private Thread worker;
+    private volatile boolean running;
+    private long nextBackfillAt;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong backfilled = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::runWorker, "geo-enrichment");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Geo enrichment worker started (queueCapacity={}, batchSize={}, backfillInterval={})",
+                queueCapacity, batchSize, backfillInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a user for location lookup. When called inside a transaction the entry is only
+     * queued after commit, so the worker never races the INSERT it is meant to update.
+     * A null ipAddress means the worker resolves it itself.
+     */
+    public void enqueue(Long userId, String ipAddress) {
+        PendingLookup pending = new PendingLookup(userId, ipAddress);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(pending);
+                }
+            });
+        } else {
+            offer(pending);
+        }
+    }
+
+    public GeoEnrichmentStatusDto getStatus() {
+        GeoEnrichmentStatusDto status = new GeoEnrichmentStatusDto();
+        status.setEnabled(enabled);
+        if (queue != null) {
+            status.setQueueDepth(queue.size());
+            status.setQueueCapacity(queueCapacity);
+            PendingLookup oldest = queue.peek();
+            status.setOldestPendingMillis(oldest != null ? System.currentTimeMillis() - oldest.enqueuedAt : 0);
+        }
+        status.setEnqueued(enqueued.get());
+        status.setCompleted(completed.get());
+        status.setRejected(rejected.get());
+        status.setFailed(failed.get());
+        status.setBackfilled(backfilled.get());
+        return status;
+    }
+
+    private void offer(PendingLookup pending) {
+        if (queue != null && queue.offer(pending)) {
+            enqueued.incrementAndGet();
+        } else {
+            rejected.incrementAndGet();
+            logger.warn("Geo enrichment queue full, user {} left for the backfill sweep", pending.userId);
+        }
+    }
+
+    private void runWorker() {
+        List<PendingLookup> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingLookup first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    backfillIfDue();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                failed.addAndGet(batch.size());
+                logger.error("Geo enrichment batch of {} failed: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs on the worker thread once the queue is empty, so users it finds without a country
+     * are not already waiting in the queue. The first sweep runs as soon as the worker goes
+     * idle after startup.
+     */
+    private void backfillIfDue() {
+        long now = System.currentTimeMillis();
+        if (backfillInterval.isZero() || now < nextBackfillAt) {
+            return;
+        }
+        nextBackfillAt = now + backfillInterval.toMillis();
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            logger.error("Geo enrichment backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-queues users that have an IP address but no country, up to the free queue capacity.
+     * Returns how many were queued.
+     */
+    int backfill() {
+        int queued = 0;
+        for (Map.Entry<Long, String> entry : userRepository.findMissingLocations(queue.remainingCapacity()).entrySet()) {
+            if (!queue.offer(new PendingLookup(entry.getKey(), entry.getValue()))) {
+                break;
+            }
+            queued++;
+        }
+        if (queued > 0) {
+            enqueued.addAndGet(queued);
+            backfilled.addAndGet(queued);
+            logger.info("Geo enrichment backfill queued {} users without location", queued);
+        }
+        return queued;
+    }
+
+    void processBatch(List<PendingLookup> batch) {
+        Map<Long, IpLocationDto> updates = new LinkedHashMap<>();
+        String serverIp = null;
+        for (PendingLookup pending : batch) {
+            String ipAddress = pending.ipAddress;
+            if (ipAddress == null) {
+                if (serverIp == null) {
+                    serverIp = ipLocationService.getCurrentIpAddress();
+                }
+                ipAddress = serverIp;
+            }
+            IpLocationDto location = ipLocationService.getLocationByIp(ipAddress);
+
+            IpLocationDto update = new IpLocationDto();
+            update.setIp(ipAddress);
+            update.setCountry(location.getCountry());
+            updates.put(pending.userId, update);
+        }
+        userRepository.batchUpdateLocations(updates);
+        completed.addAndGet(updates.size());
+    }
+
+    static final class PendingLookup {
+        final Long userId;
+        final String ipAddress;
+        final long enqueuedAt;
+
+        PendingLookup(Long userId, String ipAddress) {
+            this.userId = userId;
+            this.ipAddress = ipAddress;
+            this.enqueuedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.tkb.mykare.utils.CircuitBreaker;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Looks up countries at ip-api.com (directly or through {@link IpLocationBatcher}) behind the
+ * per-IP cache and the geo circuit breaker, and the server's public IP at ipify (once, at startup).
+ */
+@Service
+@ConditionalOnProperty(name = "mykare.geo.provider", havingValue = "ip-api", matchIfMissing = true)
+public class IpApiLocationService implements IpLocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpApiLocationService.class);
+
+    @Autowired
+    @Qualifier("geoRestTemplate")
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private GeoLocationCache locationCache;
+
+    @Autowired
+    private CircuitBreaker geoCircuitBreaker;
+
+    @Autowired
+    private IpLocationBatcher locationBatcher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${mykare.geo.ipify-url:https://api.ipify.org?format=text}")
+    private String ipifyUrl = "https://api.ipify.org?format=text";
+
+    @Value("${mykare.geo.ip-api-url:http://ip-api.com/json/{ip}}")
+    private String ipApiUrl = "http://ip-api.com/json/{ip}";
+
+    @Value("${mykare.geo.batch.caller-timeout:5s}")
+    private Duration batchCallerTimeout = Duration.ofSeconds(5);
+
+    @Value("${mykare.geo.server-ip-retry-interval:1m}")
+    private Duration serverIpRetryInterval = Duration.ofMinutes(1);
+
+    private volatile String serverIpAddress;
+    private ScheduledExecutorService serverIpResolver;
+
+    /**
+     * Looks up the server's public IP once the application is up, off the startup thread, and
+     * keeps retrying in the background until ipify answers. Requests never wait for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startServerIpResolution() {
+        serverIpResolver = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "server-ip-resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        serverIpResolver.execute(this::resolveOrRetry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (serverIpResolver != null) {
+            serverIpResolver.shutdownNow();
+        }
+    }
+
+    private void resolveOrRetry() {
+        if (!resolveServerIpAddress() && !serverIpResolver.isShutdown()) {
+            serverIpResolver.schedule(this::resolveOrRetry, serverIpRetryInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Public IP of this server as resolved at startup, or "Unknown" while that lookup has not
+     * succeeded yet.
+     */
+    @Override
+    public String getCurrentIpAddress() {
+        String resolved = serverIpAddress;
+        return resolved != null ? resolved : "Unknown";
+    }
+
+    /** Asks ipify for the server's public IP and keeps the answer; returns whether it got one. */
+    boolean resolveServerIpAddress() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String ip = restTemplate.getForObject(ipifyUrl, String.class);
+            if (ip == null || ip.isBlank()) {
+                recordLookup(sample, "ipify", "direct", "fail");
+                logger.warn("ipify returned no IP address, retrying in {}", serverIpRetryInterval);
+                return false;
+            }
+            recordLookup(sample, "ipify", "direct", "success");
+            serverIpAddress = ip.trim();
+            logger.info("Retrieved IP address: {}", serverIpAddress);
+            return true;
+        } catch (RestClientException e) {
+            recordLookup(sample, "ipify", "direct", "error");
+            logger.error("Error fetching IP address, retrying in {}: {}", serverIpRetryInterval, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public IpLocationDto getLocationByIp(String ipAddress) {
+        return locationCache.get(ipAddress, this::fetchLocation);
+    }
+
+    private IpLocationDto fetchLocation(String ipAddress) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (locationBatcher.isEnabled()) {
+            CompletableFuture<IpLocationDto> future = locationBatcher.submit(ipAddress);
+            if (future != null) {
+                return awaitBatchedLocation(ipAddress, future, sample);
+            }
+            // batch queue is full, fall through to a direct lookup
+        }
+        if (!geoCircuitBreaker.tryAcquire()) {
+            logger.debug("Circuit breaker open, skipping location lookup for IP {}", ipAddress);
+            recordLookup(sample, "ip-api", "direct", "short_circuited");
+            return IpLocationService.unknownLocation(ipAddress);
+        }
+        try {
+            IpLocationDto location = restTemplate.getForObject(ipApiUrl, IpLocationDto.class, ipAddress);
+            geoCircuitBreaker.recordSuccess();
+            if (location != null && "success".equals(location.getStatus())) {
+                logger.debug("Retrieved location for IP {}: {}", ipAddress, location.getCountry());
+                recordLookup(sample, "ip-api", "direct", "success");
+                return location;
+            } else {
+                logger.warn("Failed to get location for IP: {}", ipAddress);
+                recordLookup(sample, "ip-api", "direct", "fail");
+                return IpLocationService.unknownLocation(ipAddress);
+            }
+        } catch (RuntimeException e) {
+            // not only RestClientException: a half-open trial that records no outcome keeps the circuit shut
+            geoCircuitBreaker.recordFailure();
+            logger.error("Error fetching location for IP {}: {}", ipAddress, e.getMessage());
+            recordLookup(sample, "ip-api", "direct", "error");
+            return IpLocationService.unknownLocation(ipAddress);
+        }
+    }
+
+    private IpLocationDto awaitBatchedLocation(String ipAddress, CompletableFuture<IpLocationDto> future, Timer.Sample sample) {
+        String outcome = "error";
+        try {
+            IpLocationDto location = future.get(batchCallerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (location != null && "success".equals(location.getStatus())) {
+                recordLookup(sample, "ip-api", "batch", "success");
+                return location;
+            }
+            logger.warn("Failed to get location for IP: {}", ipAddress);
+            outcome = "fail";
+        } catch (TimeoutException | ExecutionException e) {
+            logger.error("Error fetching location for IP {}: {}", ipAddress, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        recordLookup(sample, "ip-api", "batch", outcome);
+        return IpLocationService.unknownLocation(ipAddress);
+    }
+
+    /**
+     * Outbound lookups as the geo.lookup timer, by provider outcome: success, fail (the provider
+     * answered without a location), error (HTTP or I/O failure) or short_circuited. The HTTP
+     * status of each call is in http.client.requests.
+     */
+    private void recordLookup(Timer.Sample sample, String service, String mode, String outcome) {
+        sample.stop(meterRegistry.timer("geo.lookup", "service", service, "mode", mode, "outcome", outcome));
+    }
+}
\ No newline at end of file
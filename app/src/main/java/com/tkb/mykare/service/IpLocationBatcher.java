@@ -0,0 +1,170 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.utils.CircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces location lookups into POSTs against ip-api's batch endpoint.
+ *
+ * Callers get a future per IP; concurrent callers for the same IP share one in-flight future.
+ * A flusher thread sends whatever is pending once {@code max-size} IPs have queued up or
+ * {@code max-wait} has passed since the first of them arrived. A future completes with null
+ * when the provider did not return a result, and the caller applies its own fallback.
+ */
+@Service
+@ConditionalOnProperty(name = "mykare.geo.provider", havingValue = "ip-api", matchIfMissing = true)
+public class IpLocationBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpLocationBatcher.class);
+
+    @Autowired
+    @Qualifier("geoRestTemplate")
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private CircuitBreaker geoCircuitBreaker;
+
+    @Value("${mykare.geo.ip-api-batch-url:http://ip-api.com/batch?fields=status,message,country,countryCode,region,city,query}")
+    private String batchUrl = "http://ip-api.com/batch?fields=status,message,country,countryCode,region,city,query";
+
+    @Value("${mykare.geo.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${mykare.geo.batch.max-size:100}")
+    private int maxSize;
+
+    @Value("${mykare.geo.batch.max-wait:10ms}")
+    private Duration maxWait;
+
+    @Value("${mykare.geo.batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private final ConcurrentHashMap<String, CompletableFuture<IpLocationDto>> inFlight = new ConcurrentHashMap<>();
+    private BlockingQueue<String> pending;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        pending = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlusher, "geo-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        inFlight.values().forEach(future -> future.complete(null));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the shared future for this IP, queueing it for the next batch if nobody else
+     * is already waiting on it. Returns null when the queue is full.
+     */
+    public CompletableFuture<IpLocationDto> submit(String ipAddress) {
+        CompletableFuture<IpLocationDto> created = new CompletableFuture<>();
+        CompletableFuture<IpLocationDto> existing = inFlight.putIfAbsent(ipAddress, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (!pending.offer(ipAddress)) {
+            inFlight.remove(ipAddress, created);
+            return null;
+        }
+        return created;
+    }
+
+    private void runFlusher() {
+        List<String> batch = new ArrayList<>(maxSize);
+        long maxWaitNanos = maxWait.toNanos();
+        while (running) {
+            try {
+                String first = pending.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    String next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Geo batch flush failed: {}", e.getMessage());
+            } finally {
+                for (String ipAddress : batch) {
+                    CompletableFuture<IpLocationDto> future = inFlight.remove(ipAddress);
+                    if (future != null) {
+                        future.complete(null);
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<String> batch) {
+        IpLocationDto[] results = null;
+        if (geoCircuitBreaker.tryAcquire()) {
+            try {
+                results = restTemplate.postForObject(batchUrl, batch, IpLocationDto[].class);
+                geoCircuitBreaker.recordSuccess();
+                logger.debug("Resolved batch of {} IPs", batch.size());
+            } catch (RuntimeException e) {
+                // anything thrown here must still release a half-open trial and complete the waiting callers
+                geoCircuitBreaker.recordFailure();
+                logger.error("Error fetching locations for batch of {} IPs: {}", batch.size(), e.getMessage());
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            String ipAddress = batch.get(i);
+            IpLocationDto location = results != null && i < results.length ? results[i] : null;
+            if (location != null) {
+                location.setIp(ipAddress);
+            }
+            CompletableFuture<IpLocationDto> future = inFlight.remove(ipAddress);
+            if (future != null) {
+                future.complete(location);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+
+/**
+ * Resolves the country of a client IP, and the server's own public IP for registrations that
+ * carry no client address. Selected by mykare.geo.provider: ip-api ({@link IpApiLocationService})
+ * or offline ({@link OfflineIpLocationService}).
+ */
+public interface IpLocationService {
+
+    String getCurrentIpAddress();
+
+    /** Never null; unresolvable addresses get {@link #unknownLocation}. */
+    IpLocationDto getLocationByIp(String ipAddress);
+
+    static IpLocationDto unknownLocation(String ipAddress) {
+        IpLocationDto location = new IpLocationDto();
+        location.setIp(ipAddress);
+        location.setCountry("Unknown");
+        return location;
+    }
+}
@@ -0,0 +1,123 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.utils.IpRangeTable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves countries from a local range database instead of ip-api.com, without any outbound
+ * calls: the HTTP client, batcher and circuit breaker are not created in this mode, and the
+ * server IP comes from configuration instead of ipify. A lookup is a binary search over the
+ * mapped table, cheaper than a cache hit, so results are not cached.
+ *
+ * The CSV source is compiled to a memory-mapped {@link IpRangeTable} on startup and
+ * recompiled whenever the file changes on disk. The compiled file goes to compiled-directory,
+ * or next to the CSV, or to the temp directory when the CSV's directory is read-only.
+ */
+@Service
+@ConditionalOnProperty(name = "mykare.geo.provider", havingValue = "offline")
+public class OfflineIpLocationService implements IpLocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfflineIpLocationService.class);
+
+    @Value("${mykare.geo.offline.database}")
+    private String databasePath;
+
+    @Value("${mykare.geo.offline.compiled-directory:}")
+    private String compiledDirectory;
+
+    @Value("${mykare.geo.offline.reload-interval:30s}")
+    private Duration reloadInterval;
+
+    @Value("${mykare.geo.offline.server-ip:}")
+    private String serverIpAddress;
+
+    private volatile IpRangeTable table;
+    private volatile FileTime loadedModifiedTime;
+    private ScheduledExecutorService reloader;
+
+    @PostConstruct
+    public void start() throws IOException {
+        reload();
+        reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "geo-offline-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reloadInterval.toMillis();
+        reloader.scheduleWithFixedDelay(this::reloadIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    @Override
+    public String getCurrentIpAddress() {
+        return serverIpAddress.isBlank() ? "Unknown" : serverIpAddress;
+    }
+
+    @Override
+    public IpLocationDto getLocationByIp(String ipAddress) {
+        String country = table.lookupCountry(ipAddress);
+        if (country == null) {
+            return IpLocationService.unknownLocation(ipAddress);
+        }
+        IpLocationDto location = new IpLocationDto();
+        location.setIp(ipAddress);
+        location.setCountry(country);
+        location.setStatus("success");
+        return location;
+    }
+
+    void reloadIfChanged() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(Paths.get(databasePath));
+            if (!modified.equals(loadedModifiedTime)) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to reload offline geo database {}: {}", databasePath, e.getMessage());
+        }
+    }
+
+    private void reload() throws IOException {
+        Path source = Paths.get(databasePath);
+        FileTime modified = Files.getLastModifiedTime(source);
+        Path compiled = compiledDirectory(source).resolve(source.getFileName() + ".bin");
+        IpRangeTable.compile(source, compiled);
+        table = IpRangeTable.open(compiled);
+        loadedModifiedTime = modified;
+        logger.info("Loaded offline geo database {} ({} ranges) from {}", databasePath, table.size(), compiled);
+    }
+
+    private Path compiledDirectory(Path source) throws IOException {
+        if (!compiledDirectory.isBlank()) {
+            return Files.createDirectories(Paths.get(compiledDirectory));
+        }
+        Path sourceDirectory = source.toAbsolutePath().getParent();
+        if (Files.isWritable(sourceDirectory)) {
+            return sourceDirectory;
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.tkb.mykare.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tkb.mykare.utils.InvalidationBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Access tokens that must stop working before they expire.
+ *
+ * A single token is revoked by its id (logout); every token of a user issued before now is
+ * revoked by remembering a not-before second for the subject (account deleted). Entries only
+ * need to outlive the tokens they cover, so both maps stay bounded by the token TTL.
+ *
+ * Revocations reach the other nodes through the {@link InvalidationBroadcaster} that also
+ * carries UserCache and CredentialCache evictions, as keys prefixed with "token-revocation:".
+ * When a message is lost, the short token TTL bounds the window on the nodes that missed it.
+ */
+@Component
+public class TokenRevocationList implements OAuth2TokenValidator<Jwt> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final OAuth2Error REVOKED = new OAuth2Error("invalid_token", "Token has been revoked", null);
+
+    /** Broadcast keys: token-revocation:token:<expiry epoch second>:<jti> or token-revocation:subject:<not-before epoch second>:<sub> */
+    static final String MESSAGE_PREFIX = "token-revocation:";
+    private static final String TOKEN = "token";
+    private static final String SUBJECT = "subject";
+
+    private final Cache<String, Instant> revokedTokens;
+    private final Cache<String, Instant> revokedSubjects;
+    private final InvalidationBroadcaster broadcaster;
+
+    public TokenRevocationList(@Value("${mykare.auth.token.ttl:15m}") Duration tokenTtl,
+                               @Value("${mykare.auth.token.revocation.max-size:100000}") long maxSize,
+                               InvalidationBroadcaster broadcaster) {
+        this.revokedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        this.revokedSubjects = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(tokenTtl)
+                .build();
+        this.broadcaster = broadcaster;
+        broadcaster.subscribe(this::receive);
+    }
+
+    /** Revokes one token until its own expiry, on every node. */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId != null && expiresAt != null && expiresAt.isAfter(Instant.now())) {
+            recordToken(tokenId, expiresAt);
+            broadcaster.publish(MESSAGE_PREFIX + TOKEN + ":" + expiresAt.getEpochSecond() + ":" + tokenId);
+        }
+    }
+
+    /**
+     * Revokes every token issued to the subject before the current second, on every node.
+     * Token issue times only have second precision, so a token issued later in the same
+     * second (e.g. by a login right after the account was re-created) stays valid.
+     */
+    public void revokeAll(String subject) {
+        Instant notBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        recordSubject(subject, notBefore);
+        broadcaster.publish(MESSAGE_PREFIX + SUBJECT + ":" + notBefore.getEpochSecond() + ":" + subject);
+    }
+
+    public boolean isRevoked(Jwt jwt) {
+        if (jwt.getId() != null && revokedTokens.getIfPresent(jwt.getId()) != null) {
+            return true;
+        }
+        Instant notBefore = revokedSubjects.getIfPresent(jwt.getSubject());
+        return notBefore != null
+                && (jwt.getIssuedAt() == null || jwt.getIssuedAt().truncatedTo(ChronoUnit.SECONDS).isBefore(notBefore));
+    }
+
+    private void recordToken(String tokenId, Instant expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+    }
+
+    private void recordSubject(String subject, Instant notBefore) {
+        // a delayed message must not move the cut-off back
+        revokedSubjects.asMap().merge(subject, notBefore, (current, received) -> received.isAfter(current) ? received : current);
+    }
+
+    /** Applies a revocation broadcast by any node, this one included; other keys are cache evictions. */
+    private void receive(String key) {
+        if (!key.startsWith(MESSAGE_PREFIX)) {
+            return;
+        }
+        String[] parts = key.substring(MESSAGE_PREFIX.length()).split(":", 3);
+        try {
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[1]));
+            if (TOKEN.equals(parts[0]) && instant.isAfter(Instant.now())) {
+                recordToken(parts[2], instant);
+            } else if (SUBJECT.equals(parts[0])) {
+                recordSubject(parts[2], instant);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            logger.warn("Ignoring malformed token revocation message: {}", key);
+        }
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        return isRevoked(jwt) ? OAuth2TokenValidatorResult.failure(REVOKED) : OAuth2TokenValidatorResult.success();
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Instant> {
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
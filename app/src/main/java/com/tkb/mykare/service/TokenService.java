@@ -0,0 +1,67 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.entity.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues the short-lived HMAC-signed access tokens handed out by the login endpoint.
+ * Requests carrying one are authenticated by a signature and expiry check instead of BCrypt.
+ */
+@Service
+public class TokenService {
+
+    public static final String ROLES_CLAIM = "roles";
+
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Value("${mykare.auth.token.issuer:mykare}")
+    private String issuer = "mykare";
+
+    @Value("${mykare.auth.token.ttl:15m}")
+    private Duration ttl = Duration.ofMinutes(15);
+
+    public Jwt issue(String email, Role role) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject(email)
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(ROLES_CLAIM, List.of(role.name()))
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims));
+    }
+
+    /** Logout: the presented token is rejected from now on. */
+    public void revoke(Jwt token) {
+        revocationList.revoke(token.getId(), token.getExpiresAt());
+    }
+
+    /** Every token issued to the user so far is rejected, e.g. once the account is deleted. */
+    public void revokeAll(String email) {
+        revocationList.revokeAll(email);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
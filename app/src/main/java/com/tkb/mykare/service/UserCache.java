@@ -0,0 +1,109 @@
+package com.tkb.mykare.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.utils.InvalidationBroadcaster;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of users by email for the login and duplicate-registration paths.
+ *
+ * Only users that exist are cached, so a registration on another node never has to evict
+ * anything. Deleting or changing a user evicts it here, again after the surrounding
+ * transaction commits (so a concurrent read cannot put back the old row), and on every other
+ * node through the {@link InvalidationBroadcaster}. The TTL bounds staleness when a broadcast
+ * is lost, and also for the location columns, which the enrichment worker updates by id
+ * without evicting. Hit and miss counts are published as {@code cache.gets{cache="users"}}.
+ */
+@Component
+public class UserCache {
+
+    static final String CACHE_NAME = "users";
+
+    private final boolean enabled;
+    private final Cache<String, User> cache;
+    private final InvalidationBroadcaster broadcaster;
+    /** Bumped on every eviction; a load that overlapped one is not cached. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserCache(@Value("${mykare.user-cache.enabled:false}") boolean enabled,
+                     @Value("${mykare.user-cache.max-size:10000}") long maxSize,
+                     @Value("${mykare.user-cache.ttl:5m}") Duration ttl,
+                     MeterRegistry meterRegistry,
+                     InvalidationBroadcaster broadcaster) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.broadcaster = broadcaster;
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+            broadcaster.subscribe(this::evict);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached user or loads it. The loader runs outside the cache's locks, so a slow
+     * query neither blocks other keys nor pins a virtual thread.
+     */
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        User cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long before = evictions.get();
+        Optional<User> loaded = loader.apply(email);
+        if (loaded.isPresent() && evictions.get() == before) {
+            cache.put(email, loaded.get());
+        }
+        return loaded;
+    }
+
+    public Optional<User> getIfPresent(String email) {
+        return enabled ? Optional.ofNullable(cache.getIfPresent(email)) : Optional.empty();
+    }
+
+    /** Evicts the user on every node, now and once more after the current transaction commits. */
+    public void invalidate(String email) {
+        if (!enabled) {
+            return;
+        }
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(email);
+                    broadcaster.publish(email);
+                }
+            });
+        } else {
+            broadcaster.publish(email);
+        }
+    }
+
+    private void evict(String email) {
+        evictions.incrementAndGet();
+        cache.invalidate(email);
+    }
+}
@@ -0,0 +1,363 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.BulkDeleteResultDto;
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.dto.UserRegistrationDto;
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.exception.HashingCapacityExceededException;
+import com.tkb.mykare.exception.UserAlreadyExistsException;
+import com.tkb.mykare.repository.UserRepository;
+import com.tkb.mykare.utils.UniqueConstraints;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+@Observed(name = "user.service")
+public class UserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
+    /** Timers for whole registrations/logins by outcome; their steps are recorded under {@code <name>.phase}. */
+    static final String REGISTRATION_METRIC = "user.registration";
+    static final String VALIDATION_METRIC = "user.validation";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private IpLocationService ipLocationService;
+
+    @Autowired
+    private GeoEnrichmentService geoEnrichmentService;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserResponseDto registerUser(UserRegistrationDto registrationDto) {
+        return registerUser(registrationDto, null);
+    }
+
+    /**
+     * Registers a user whose location is derived from the given client IP.
+     * A null clientIp falls back to the server's own public IP.
+     *
+     * Runs outside a service-level transaction: hashing and the geo lookups can take seconds
+     * and must not hold a pooled connection meanwhile. Each repository call gets its own short
+     * transaction, and the email unique constraint still rejects duplicates atomically.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserResponseDto registerUser(UserRegistrationDto registrationDto, String clientIp) {
+        logger.debug("Attempting to register user with email: {}", registrationDto.getEmail());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            UserResponseDto registered = register(registrationDto, clientIp);
+            outcome = "created";
+            return registered;
+        } catch (UserAlreadyExistsException e) {
+            outcome = "duplicate";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(REGISTRATION_METRIC, "outcome", outcome));
+        }
+    }
+
+    private UserResponseDto register(UserRegistrationDto registrationDto, String clientIp) {
+        // Cheap pre-check for obvious duplicates; the unique constraint below is authoritative
+        if (emailBloomFilter.mightContain(registrationDto.getEmail())
+                && (userCache.getIfPresent(registrationDto.getEmail()).isPresent()
+                    || timePhase(REGISTRATION_METRIC, "lookup", () -> userRepository.existsByEmail(registrationDto.getEmail())))) {
+            throw new UserAlreadyExistsException("User with email " + registrationDto.getEmail() + " already exists");
+        }
+
+        // Create new user
+        User user = new User();
+        user.setName(registrationDto.getName());
+        user.setEmail(registrationDto.getEmail());
+        user.setGender(registrationDto.getGender());
+        user.setPassword(timePhase(REGISTRATION_METRIC, "hash", () -> passwordHashingService.encode(registrationDto.getPassword())));
+        user.setRole(Role.USER);
+
+        // Get IP address and location, or leave them pending for the enrichment worker
+        if (!geoEnrichmentService.isEnabled()) {
+            String ipAddress = clientIp != null ? clientIp : timePhase(REGISTRATION_METRIC, "geo", ipLocationService::getCurrentIpAddress);
+            IpLocationDto location = timePhase(REGISTRATION_METRIC, "geo", () -> ipLocationService.getLocationByIp(ipAddress));
+
+            user.setIpAddress(ipAddress);
+            user.setCountry(location.getCountry());
+        } else {
+            // Keep the address on the row so the backfill sweep can retry it if the queue drops the lookup
+            user.setIpAddress(clientIp != null ? clientIp : ipLocationService.getCurrentIpAddress());
+        }
+
+        User savedUser;
+        try {
+            savedUser = timePhase(REGISTRATION_METRIC, "insert", () -> userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConstraintViolation(e)) {
+                throw new UserAlreadyExistsException("User with email " + registrationDto.getEmail() + " already exists");
+            }
+            throw e;
+        }
+        emailBloomFilter.put(savedUser.getEmail());
+        userCache.invalidate(savedUser.getEmail());
+        if (geoEnrichmentService.isEnabled()) {
+            geoEnrichmentService.enqueue(savedUser.getId(), savedUser.getIpAddress());
+        }
+        logger.info("User registered successfully with ID: {}", savedUser.getId());
+
+        return new UserResponseDto(savedUser);
+    }
+
+    /**
+     * Records one step of a registration or login as {@code <operation>.phase} tagged with the
+     * phase, and as a child span, so slow requests can be attributed to the database, BCrypt or
+     * the geo provider. Hashing phases include the wait for a hashing thread; password.hashing
+     * times the hash alone.
+     */
+    private <T> T timePhase(String operation, String phase, Supplier<T> step) {
+        return Observation.createNotStarted(operation + ".phase", observationRegistry)
+                .contextualName(operation + " " + phase)
+                .lowCardinalityKeyValue("phase", phase)
+                .observe(step);
+    }
+
+    /**
+     * True only for a unique violation (SQLState 23505) of {@link User#EMAIL_UNIQUE_CONSTRAINT}.
+     * The constraint name comes from Hibernate, which reads it from the driver's error fields
+     * (PostgreSQL) or the violated index (H2 names it UK_USERS_EMAIL_INDEX_n), falling back to
+     * the SQLException message, so it does not depend on the message language.
+     */
+    static boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+        String constraintName = null;
+        SQLException sqlException = null;
+        for (Throwable cause = e; cause != null && sqlException == null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                constraintName = violation.getConstraintName();
+            }
+            if (cause instanceof SQLException sql) {
+                sqlException = sql;
+            }
+        }
+        if (sqlException == null) {
+            return false;
+        }
+        return UniqueConstraints.isViolationOf(User.EMAIL_UNIQUE_CONSTRAINT, sqlException.getSQLState(),
+                constraintName != null ? constraintName : sqlException.getMessage());
+    }
+
+    /**
+     * Runs outside a service-level transaction so a pooled connection is only held for the
+     * lookup itself, not while the password hash is verified.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean validateUser(String email, String password) {
+        logger.debug("Validating user with email: {}", email);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            // Recently verified credentials skip both the lookup and the password hash
+            if (credentialCache.matches(email, password)) {
+                logger.debug("User validation result for {}: true (cached)", email);
+                outcome = "cached";
+                return true;
+            }
+
+            boolean valid = findVerifiedUser(email, password).isPresent();
+            outcome = valid ? "valid" : "invalid";
+            return valid;
+        } finally {
+            sample.stop(meterRegistry.timer(VALIDATION_METRIC, "outcome", outcome));
+        }
+    }
+
+    /**
+     * Verifies credentials like {@link #validateUser} and returns the account's role, which the
+     * login endpoint puts into the access token; empty when the credentials are wrong.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Role> authenticate(String email, String password) {
+        logger.debug("Authenticating user with email: {}", email);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            if (credentialCache.matches(email, password)) {
+                Optional<Role> role = userCache.getIfPresent(email).map(User::getRole)
+                        .or(() -> timePhase(VALIDATION_METRIC, "lookup", () -> userRepository.findRoleByEmail(email)));
+                if (role.isPresent()) {
+                    outcome = "cached";
+                    return role;
+                }
+            }
+
+            Optional<Role> role = findVerifiedUser(email, password).map(User::getRole);
+            outcome = role.isPresent() ? "valid" : "invalid";
+            return role;
+        } finally {
+            sample.stop(meterRegistry.timer(VALIDATION_METRIC, "outcome", outcome));
+        }
+    }
+
+    private Optional<User> findVerifiedUser(String email, String password) {
+        Optional<User> userOpt = userCache.get(email, key -> timePhase(VALIDATION_METRIC, "lookup", () -> userRepository.findByEmail(key)));
+        if (userOpt.isPresent()) {
+            User user = userOpt.get();
+            boolean isValid = timePhase(VALIDATION_METRIC, "hash", () -> passwordHashingService.matches(password, user.getPassword()));
+            logger.debug("User validation result for {}: {}", email, isValid);
+            if (isValid) {
+                rehashIfNeeded(user, password);
+                credentialCache.put(email, password);
+                return userOpt;
+            }
+            return Optional.empty();
+        }
+
+        logger.debug("User not found with email: {}", email);
+        return Optional.empty();
+    }
+
+    /**
+     * Re-encodes a verified password whose stored hash is off-policy and writes it with a
+     * single UPDATE. If the hashing pool is saturated the upgrade simply waits for a later login.
+     */
+    private void rehashIfNeeded(User user, String password) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(timePhase(VALIDATION_METRIC, "hash", () -> passwordHashingService.encode(password)));
+            timePhase(VALIDATION_METRIC, "update", () -> userRepository.updatePassword(user.getId(), user.getPassword()));
+            userCache.invalidate(user.getEmail());
+            logger.info("Upgraded password hash for user ID: {}", user.getId());
+        } catch (HashingCapacityExceededException e) {
+            logger.debug("Skipping password rehash for user ID {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> getUsersAfter(Long afterId, int limit) {
+        logger.debug("Fetching up to {} users after ID {}", limit, afterId);
+        return userRepository.findSummariesAfter(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Writes every user as one JSON object per line. Rows are streamed from a read-only cursor
+     * as DTO projections, so nothing accumulates in the persistence context and memory use
+     * stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream outputStream) throws IOException {
+        logger.info("Exporting all users");
+        ObjectWriter writer = objectMapper.writerFor(UserResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<UserResponseDto> users = userRepository.streamAllSummaries();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<UserResponseDto> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                count++;
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        logger.info("Exported {} users", count);
+        return count;
+    }
+
+    public boolean deleteUserByEmail(String email) {
+        logger.debug("Attempting to delete user with email: {}", email);
+
+        if (userRepository.deleteByEmail(email) > 0) {
+            credentialCache.invalidate(email);
+            userCache.invalidate(email);
+            tokenService.revokeAll(email);
+            logger.info("User deleted successfully: {}", email);
+            return true;
+        }
+
+        logger.warn("User not found for deletion: {}", email);
+        return false;
+    }
+
+    public BulkDeleteResultDto deleteUsersByEmail(List<String> emails) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(emails));
+        logger.info("Attempting to delete {} users", distinct.size());
+
+        int[] counts = userRepository.batchDeleteByEmail(distinct);
+        int deleted = 0;
+        List<String> notFound = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            // drivers may report SUCCESS_NO_INFO (-2) instead of a row count
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                credentialCache.invalidate(distinct.get(i));
+                userCache.invalidate(distinct.get(i));
+                tokenService.revokeAll(distinct.get(i));
+                deleted++;
+            } else {
+                notFound.add(distinct.get(i));
+            }
+        }
+
+        logger.info("Deleted {} users, {} not found", deleted, notFound.size());
+        return new BulkDeleteResultDto(deleted, notFound);
+    }
+
+}
\ No newline at end of file
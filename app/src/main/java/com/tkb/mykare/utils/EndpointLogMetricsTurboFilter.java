@@ -0,0 +1,47 @@
+package com.tkb.mykare.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts enabled log calls per level and per endpoint (taken from the {@code endpoint} MDC key),
+ * as {@code log.events}. It never filters anything, and counts before any sampling so the rate
+ * reflects what the code asked to log.
+ */
+public class EndpointLogMetricsTurboFilter extends TurboFilter {
+
+    public static final String ENDPOINT_MDC_KEY = "endpoint";
+    private static final String NO_ENDPOINT = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public EndpointLogMetricsTurboFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check rather than a log call. The level check avoids
+        // logger.isEnabledFor, which would re-enter the turbo filter chain
+        if (format == null || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        String endpoint = MDC.get(ENDPOINT_MDC_KEY);
+        String key = level.levelStr + ' ' + (endpoint != null ? endpoint : NO_ENDPOINT);
+        counters.computeIfAbsent(key, k -> Counter.builder("log.events")
+                .description("Log calls by level and HTTP endpoint")
+                .tag("level", level.levelStr.toLowerCase())
+                .tag("endpoint", endpoint != null ? endpoint : NO_ENDPOINT)
+                .register(meterRegistry)).increment();
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,17 @@
+package com.tkb.mykare.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between the nodes of a deployment.
+ *
+ * {@link #publish} sends a key to every node, possibly including this one, and
+ * {@link #subscribe} registers a listener for keys from any node. Delivery is best effort:
+ * caches behind a broadcaster still need a TTL to bound staleness when a message is lost.
+ */
+public interface InvalidationBroadcaster {
+
+    void publish(String key);
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,214 @@
+package com.tkb.mykare.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only IP range to country table backed by a memory-mapped binary file.
+ *
+ * Every address is normalised to 128 bits (IPv4 as ::ffff:a.b.c.d) and ranges are stored
+ * sorted as fixed-size records, so a lookup is a binary search over the mapping with no
+ * per-lookup allocation for IPv4 input.
+ *
+ * File layout: int magic, int version, int countryCount, int rangeCount, then countryCount
+ * (short length, UTF-8 name) entries, then rangeCount records of
+ * (long startHi, long startLo, long endHi, long endLo, int countryIndex).
+ */
+public final class IpRangeTable {
+
+    private static final int MAGIC = 0x4D4B4745;
+    private static final int VERSION = 1;
+    private static final int RECORD_SIZE = 36;
+    private static final long IPV4_MAPPED_PREFIX = 0x0000FFFF00000000L;
+    private static final BigInteger IPV4_MAX = BigInteger.valueOf(0xFFFFFFFFL);
+    private static final BigInteger LONG_MASK = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private final ByteBuffer buffer;
+    private final String[] countries;
+    private final int rangeCount;
+    private final int rangesOffset;
+
+    private IpRangeTable(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a compiled IP range table");
+        }
+        int countryCount = buffer.getInt(8);
+        this.rangeCount = buffer.getInt(12);
+        this.countries = new String[countryCount];
+        int position = 16;
+        for (int i = 0; i < countryCount; i++) {
+            int length = buffer.getShort(position) & 0xFFFF;
+            byte[] name = new byte[length];
+            buffer.get(position + 2, name);
+            countries[i] = new String(name, StandardCharsets.UTF_8);
+            position += 2 + length;
+        }
+        this.rangesOffset = position;
+        this.buffer = buffer;
+    }
+
+    /** Maps a file previously written by {@link #compile(Path, Path)}. */
+    public static IpRangeTable open(Path compiledFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(compiledFile, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new IpRangeTable(mapped);
+        }
+    }
+
+    public int size() {
+        return rangeCount;
+    }
+
+    /** Returns the country name for the address, or null when it is unparseable or not covered. */
+    public String lookupCountry(String ipAddress) {
+        if (ipAddress == null || ipAddress.isEmpty()) {
+            return null;
+        }
+        long hi;
+        long lo;
+        if (ipAddress.indexOf(':') < 0) {
+            long ipv4 = IpLiterals.parseIpv4(ipAddress);
+            if (ipv4 < 0) {
+                return null;
+            }
+            hi = 0;
+            lo = IPV4_MAPPED_PREFIX | ipv4;
+        } else {
+            byte[] bytes = IpLiterals.parseIpv6(ipAddress);
+            if (bytes == null) {
+                return null;
+            }
+            hi = ByteBuffer.wrap(bytes, 0, 8).getLong();
+            lo = ByteBuffer.wrap(bytes, 8, 8).getLong();
+        }
+        int index = find(hi, lo);
+        return index < 0 ? null : countries[index];
+    }
+
+    private int find(long hi, long lo) {
+        int low = 0;
+        int high = rangeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int base = rangesOffset + mid * RECORD_SIZE;
+            if (compare(hi, lo, buffer.getLong(base), buffer.getLong(base + 8)) < 0) {
+                high = mid - 1;
+            } else if (compare(hi, lo, buffer.getLong(base + 16), buffer.getLong(base + 24)) > 0) {
+                low = mid + 1;
+            } else {
+                return buffer.getInt(base + 32);
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(long hi1, long lo1, long hi2, long lo2) {
+        int cmp = Long.compareUnsigned(hi1, hi2);
+        return cmp != 0 ? cmp : Long.compareUnsigned(lo1, lo2);
+    }
+
+    /**
+     * Compiles a CSV of {@code start,end,countryCode,countryName} rows into the binary format.
+     * Start/end may be dotted IPv4, IPv6 literals or decimal integers (IP2Location style);
+     * quoted fields and a header row are tolerated. The output is written to a temp file
+     * and moved into place atomically so readers never see a partial table.
+     */
+    public static void compile(Path csvFile, Path compiledFile) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        Map<String, Integer> countryIndex = new HashMap<>();
+        List<String> countryNames = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = CsvUtils.splitLine(line);
+                if (fields.length < 3) {
+                    continue;
+                }
+                long[] start = toLongPair(fields[0]);
+                long[] end = toLongPair(fields[1]);
+                if (start == null || end == null) {
+                    continue; // header row or malformed line
+                }
+                String country = fields.length > 3 && !fields[3].isBlank() ? fields[3] : fields[2];
+                if (country.isBlank() || "-".equals(country)) {
+                    continue;
+                }
+                Integer index = countryIndex.get(country);
+                if (index == null) {
+                    index = countryNames.size();
+                    countryIndex.put(country, index);
+                    countryNames.add(country);
+                }
+                ranges.add(new long[]{start[0], start[1], end[0], end[1], index});
+            }
+        }
+
+        long[][] sorted = ranges.toArray(new long[0][]);
+        Arrays.sort(sorted, (a, b) -> compare(a[0], a[1], b[0], b[1]));
+
+        Path tmp = compiledFile.resolveSibling(compiledFile.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(countryNames.size());
+            out.writeInt(sorted.length);
+            for (String name : countryNames) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            for (long[] range : sorted) {
+                out.writeLong(range[0]);
+                out.writeLong(range[1]);
+                out.writeLong(range[2]);
+                out.writeLong(range[3]);
+                out.writeInt((int) range[4]);
+            }
+        }
+        Files.move(tmp, compiledFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long[] toLongPair(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (value.chars().allMatch(Character::isDigit)) {
+            BigInteger number = new BigInteger(value);
+            if (number.compareTo(IPV4_MAX) <= 0) {
+                return new long[]{0, IPV4_MAPPED_PREFIX | number.longValue()};
+            }
+            return new long[]{number.shiftRight(64).longValue(), number.and(LONG_MASK).longValue()};
+        }
+        if (value.indexOf(':') < 0) {
+            long ipv4 = IpLiterals.parseIpv4(value);
+            return ipv4 < 0 ? null : new long[]{0, IPV4_MAPPED_PREFIX | ipv4};
+        }
+        byte[] bytes = IpLiterals.parseIpv6(value);
+        if (bytes == null) {
+            return null;
+        }
+        return new long[]{ByteBuffer.wrap(bytes, 0, 8).getLong(), ByteBuffer.wrap(bytes, 8, 8).getLong()};
+    }
+}
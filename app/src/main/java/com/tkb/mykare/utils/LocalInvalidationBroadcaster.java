@@ -0,0 +1,26 @@
+package com.tkb.mykare.utils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport: every published key is handed to every subscriber on the calling thread.
+ * Enough for a single node, and lets tests run several caches as separate "nodes" in one JVM.
+ */
+public class LocalInvalidationBroadcaster implements InvalidationBroadcaster {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String key) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(key);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
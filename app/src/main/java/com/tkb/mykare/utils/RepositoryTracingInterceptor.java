@@ -0,0 +1,47 @@
+package com.tkb.mykare.utils;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps every call on a Spring Data repository in a child span named
+ * {@code <Repository>.<method>}, so database time shows up separately in a trace. Calls made
+ * outside a trace start no span. Invocation timings are already published as
+ * spring.data.repository.invocations, so this only traces.
+ */
+public class RepositoryTracingInterceptor implements MethodInterceptor {
+
+    private final Supplier<Tracer> tracer;
+    private final String repositoryName;
+
+    public RepositoryTracingInterceptor(Supplier<Tracer> tracer, Class<?> repositoryInterface) {
+        this.tracer = tracer;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer currentTracer = tracer.get();
+        if (currentTracer == null || currentTracer.currentSpan() == null) {
+            return invocation.proceed();
+        }
+
+        Span span = currentTracer.nextSpan()
+                .name(repositoryName + "." + invocation.getMethod().getName())
+                .tag("spring.data.repository.name", repositoryName)
+                .tag("spring.data.repository.method", invocation.getMethod().getName())
+                .start();
+        try (Tracer.SpanInScope scope = currentTracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.tkb.mykare.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * UDP transport: each key is sent as one UTF-8 datagram to a fixed list of peers, and keys
+ * received on the bound port are handed to the subscribers on a daemon thread.
+ *
+ * Datagrams can be lost or arrive twice, which is fine for invalidations: a lost one leaves an
+ * entry until its TTL, a duplicate only causes an extra miss. The same peer list can be used on
+ * every node; a node that receives its own datagrams just evicts the key a second time. The
+ * port accepts keys from anyone who can reach it, so bind it to a private interface.
+ */
+public class UdpInvalidationBroadcaster implements InvalidationBroadcaster, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(UdpInvalidationBroadcaster.class);
+
+    /** Emails are at most 320 characters; anything longer is not a key this transport carries. */
+    static final int MAX_PAYLOAD_BYTES = 1024;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread receiver;
+
+    public UdpInvalidationBroadcaster(InetSocketAddress bindAddress, List<InetSocketAddress> peers) throws SocketException {
+        this.socket = new DatagramSocket(bindAddress);
+        this.peers = List.copyOf(peers);
+        this.receiver = new Thread(this::receive, "cache-invalidation-receiver");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+        logger.info("Listening for cache invalidations on {}, sending to {}", socket.getLocalSocketAddress(), this.peers);
+    }
+
+    /** Parses {@code host:port} entries; IPv6 hosts go in brackets, e.g. {@code [fd00::2]:7600}. */
+    public static List<InetSocketAddress> parsePeers(List<String> peers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String peer : peers) {
+            if (peer.isBlank()) {
+                continue;
+            }
+            URI uri = URI.create("udp://" + peer.strip());
+            if (uri.getHost() == null || uri.getPort() < 0) {
+                throw new IllegalArgumentException("Invalid peer address, expected host:port: " + peer);
+            }
+            addresses.add(new InetSocketAddress(uri.getHost(), uri.getPort()));
+        }
+        return addresses;
+    }
+
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void publish(String key) {
+        byte[] payload = key.getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            logger.warn("Not broadcasting invalidation of a {}-byte key", payload.length);
+            return;
+        }
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+            } catch (IOException e) {
+                logger.warn("Failed to send cache invalidation to {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_PAYLOAD_BYTES];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!socket.isClosed()) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                String key = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+                for (Consumer<String> listener : listeners) {
+                    listener.accept(key);
+                }
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    logger.warn("Failed to receive cache invalidation: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                logger.error("Cache invalidation listener failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        socket.close();
+        receiver.join(1000);
+    }
+}
@@ -0,0 +1,17 @@
+-- Pooled-lo id allocation: each NEXT VALUE reserves [value, value + 49]; keep INCREMENT BY in sync with User.ID_ALLOCATION_SIZE
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT DEFAULT NEXT VALUE FOR users_seq PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    gender VARCHAR(20) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    ip_address VARCHAR(255),
+    country VARCHAR(255),
+    role VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    -- Named so a duplicate registration can be told apart from other violations (User.EMAIL_UNIQUE_CONSTRAINT)
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
@@ -0,0 +1,4 @@
+-- Filters and reports by country, role and signup date; id paging and email lookups already use the PK / unique index
+CREATE INDEX IF NOT EXISTS idx_users_country ON users (country);
+CREATE INDEX IF NOT EXISTS idx_users_role ON users (role);
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
@@ -0,0 +1,6 @@
+-- Development seed only; not on the prod profile's migration path.
+-- Password admin123 (BCrypt, cost 10), the same credentials as the in-memory Basic-auth admin,
+-- so POST /api/users/login issues an ADMIN token for it.
+INSERT INTO users (name, email, gender, password, ip_address, country, role, created_at, updated_at)
+SELECT 'Admin', 'admin@mykare.com', 'MALE', '{bcrypt}$2a$10$Y/Z5P/Inf/CKNu.Rnmty/O2Xoy95Hxbvoq23D9KD3MLw5amfzuqhW', '127.0.0.1', 'INDIA', 'ADMIN', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE email = 'admin@mykare.com');
@@ -0,0 +1,73 @@
+package com.tkb.mykare.benchmark;
+
+import com.tkb.mykare.MykareApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/** Shared fixtures for the JMH benchmarks: the application context and a local geo provider stub. */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Starts the full application (in-memory H2, random port, quiet logging) inside the
+     * benchmark fork. Properties are passed as command-line arguments so they override
+     * application.yml.
+     */
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                // component timings without span export
+                "--management.tracing.enabled=false",
+                "--mykare.tracing.exporter=none"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(MykareApplication.class)
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * Minimal ip-api / ipify stand-in: every request is answered with a successful lookup after
+     * the given delay. Requests are served on virtual threads, so the delay does not cap
+     * concurrency.
+     */
+    static HttpServer startGeoStub(long latencyMillis) throws IOException {
+        // Without TCP_NODELAY, Nagle plus delayed ACKs add ~40 ms to every keep-alive response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String path = exchange.getRequestURI().getPath();
+            String ip = path.substring(path.lastIndexOf('/') + 1);
+            byte[] body = ("{\"status\":\"success\",\"country\":\"Testland\",\"countryCode\":\"TL\",\"query\":\"" + ip + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,76 @@
+package com.tkb.mykare.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.service.IpLocationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IpLocationService against a local ip-api stub that answers after {@code latencyMillis}:
+ * cache hits, cache misses that go over HTTP, and misses from 16 concurrent callers (which
+ * are bounded by the geo connection pool rather than by the stub).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IpLocationServiceBenchmark {
+
+    private static final String CACHED_IP = "203.0.113.7";
+
+    @Param({"0", "20"})
+    private long latencyMillis;
+
+    private HttpServer geoStub;
+    private ConfigurableApplicationContext context;
+    private IpLocationService ipLocationService;
+    private final AtomicInteger nextIp = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        geoStub = BenchmarkSupport.startGeoStub(latencyMillis);
+        String stubUrl = "http://127.0.0.1:" + geoStub.getAddress().getPort();
+        context = BenchmarkSupport.startApplication(
+                "mykare.geo.ipify-url=" + stubUrl + "/ipify",
+                "mykare.geo.ip-api-url=" + stubUrl + "/json/{ip}",
+                // every miss is a new IP; keep the cache from growing through the run
+                "mykare.geo.cache.max-size=1000");
+        ipLocationService = context.getBean(IpLocationService.class);
+        ipLocationService.getLocationByIp(CACHED_IP);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        geoStub.stop(0);
+    }
+
+    @Benchmark
+    public IpLocationDto cacheHit() {
+        return ipLocationService.getLocationByIp(CACHED_IP);
+    }
+
+    @Benchmark
+    public IpLocationDto cacheMiss() {
+        return ipLocationService.getLocationByIp(uniqueIp());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public IpLocationDto cacheMissConcurrent() {
+        return ipLocationService.getLocationByIp(uniqueIp());
+    }
+
+    /** A public-looking address that has not been looked up before in this trial. */
+    private String uniqueIp() {
+        int n = nextIp.incrementAndGet();
+        return "100." + (64 + (n >>> 16 & 63)) + "." + (n >>> 8 & 255) + "." + (n & 255);
+    }
+}
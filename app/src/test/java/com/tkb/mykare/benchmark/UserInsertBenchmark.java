@@ -0,0 +1,72 @@
+package com.tkb.mykare.benchmark;
+
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk saves through {@code UserRepository.saveAll}: {@code users} new users in one
+ * transaction, with ids from IDENTITY (the original mapping, overridden through
+ * benchmark/identity-orm.xml; Hibernate cannot batch those inserts) versus the pooled-lo
+ * users_seq sequence with hibernate.jdbc.batch_size from application.yml.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserInsertBenchmark {
+
+    private static final String BCRYPT_HASH = "{bcrypt}$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    public enum IdGeneration {
+        IDENTITY, POOLED_LO_BATCHED
+    }
+
+    @Param({"IDENTITY", "POOLED_LO_BATCHED"})
+    private IdGeneration idGeneration;
+
+    @Param({"1000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+    private long nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = idGeneration == IdGeneration.IDENTITY
+                ? BenchmarkSupport.startApplication("spring.jpa.mapping-resources=benchmark/identity-orm.xml")
+                : BenchmarkSupport.startApplication();
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> saveAll() {
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            long n = nextUser++;
+            User user = new User("Bench User " + n, "insert" + n + "@bench.example", Gender.values()[(int) (n % 3)], BCRYPT_HASH);
+            user.setRole(Role.USER);
+            batch.add(user);
+        }
+        return transactionTemplate.execute(status -> userRepository.saveAll(batch));
+    }
+}
@@ -0,0 +1,104 @@
+package com.tkb.mykare.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to UserResponseDto mapping and JSON serialization of user lists, as done by
+ * GET /api/users (one array) and /api/users/export (one object per line).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<User> users;
+    private List<UserResponseDto> dtos;
+    private ObjectMapper objectMapper;
+    private ObjectWriter streamingWriter;
+
+    @Setup
+    public void setUp() {
+        // Same modules and features as the ObjectMapper Spring Boot configures
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        streamingWriter = objectMapper.writerFor(UserResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        users = new ArrayList<>(size);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            User user = new User("User " + i, "user" + i + "@example.com", Gender.values()[i % 3],
+                    "{bcrypt}$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy");
+            user.setId((long) i + 1);
+            user.setIpAddress("203.0." + (i / 256 % 256) + "." + (i % 256));
+            user.setCountry("India");
+            user.setRole(Role.USER);
+            user.setCreatedAt(createdAt.plusSeconds(i));
+            users.add(user);
+        }
+        dtos = mapToDtos();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> mapToDtos() {
+        List<UserResponseDto> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            result.add(new UserResponseDto(user));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public void streamNdjson(Blackhole blackhole) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (UserResponseDto dto : dtos) {
+                streamingWriter.writeValue(generator, dto);
+            }
+        }
+        blackhole.consume(out.count);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tkb.mykare.benchmark;
+
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserRepository lookups against the application's in-memory H2 database, seeded with
+ * {@code rows} users: the per-request email lookups done by registration and login, and a
+ * full listing as entities versus as DTO projections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserRepositoryBenchmark {
+
+    private static final String BCRYPT_HASH = "{bcrypt}$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        userRepository = context.getBean(UserRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<User> chunk = new ArrayList<>(1000);
+        for (int i = 0; i < rows; i++) {
+            User user = new User("Bench User " + i, email(i), Gender.values()[i % 3], BCRYPT_HASH);
+            user.setIpAddress("203.0.113." + (i % 256));
+            user.setCountry("India");
+            user.setRole(Role.USER);
+            chunk.add(user);
+            if (chunk.size() == 1000 || i == rows - 1) {
+                List<User> batch = List.copyOf(chunk);
+                transactionTemplate.executeWithoutResult(status -> userRepository.batchInsertUsers(batch));
+                chunk.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return userRepository.findByEmail(randomEmail());
+    }
+
+    @Benchmark
+    public boolean existsByEmailHit() {
+        return userRepository.existsByEmail(randomEmail());
+    }
+
+    @Benchmark
+    public boolean existsByEmailMiss() {
+        return userRepository.existsByEmail("missing" + ThreadLocalRandom.current().nextInt() + "@bench.example");
+    }
+
+    @Benchmark
+    public Optional<Role> findRoleByEmail() {
+        return userRepository.findRoleByEmail(randomEmail());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<UserResponseDto> listAllAsEntities() {
+        return userRepository.findAll().stream().map(UserResponseDto::new).toList();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<UserResponseDto> listAllAsProjections() {
+        return userRepository.findAllSummaries();
+    }
+
+    private String randomEmail() {
+        return email(ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    private static String email(int i) {
+        return "bench" + i + "@bench.example";
+    }
+}
@@ -4,7 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tkb.mykare.MykareApplication;
 import com.tkb.mykare.dto.UserLoginDto;
 import com.tkb.mykare.dto.UserRegistrationDto;
-import com.tkb.mykare.entity.User;
+import com.tkb.mykare.entity.Gender;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.Then;
@@ -46,7 +46,7 @@ public class StepDefinitions {
         userRegistrationDto = new UserRegistrationDto();
         userRegistrationDto.setName(name);
         userRegistrationDto.setEmail(email);
-        userRegistrationDto.setGender(User.Gender.valueOf(gender));
+        userRegistrationDto.setGender(Gender.valueOf(gender));
         userRegistrationDto.setPassword(password);
     }
 
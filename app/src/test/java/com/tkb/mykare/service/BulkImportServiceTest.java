@@ -0,0 +1,245 @@
+package com.tkb.mykare.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tkb.mykare.dto.ImportResultDto;
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    private static final String BCRYPT_HASH = "{bcrypt}$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private BulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkImportService, "chunkSize", 100);
+        ReflectionTestUtils.setField(bulkImportService, "hashingThreads", 2);
+        ReflectionTestUtils.setField(bulkImportService, "bcryptStrength", 10);
+        bulkImportService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkImportService.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportUsers_Ndjson_ReportsEveryRecord() throws Exception {
+        // Arrange
+        String input = String.join("\n",
+                "{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"gender\":\"MALE\",\"password\":\"password123\"}",
+                "{\"email\":\"noname@example.com\",\"gender\":\"MALE\",\"password\":\"password123\"}",
+                "{\"name\":\"John Again\",\"email\":\"john@example.com\",\"gender\":\"MALE\",\"password\":\"password123\"}",
+                "{\"name\":\"Jane Doe\",\"email\":\"jane@example.com\",\"gender\":\"FEMALE\",\"password\":\"password123\"}",
+                "not json");
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("jane@example.com"));
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.batchInsertUsers(anyList())).thenReturn(new int[]{1});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        Map<ImportResultDto.Status, Long> counts = bulkImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), BulkImportService.Format.NDJSON, out);
+
+        // Assert
+        List<JsonNode> results = readResults(out);
+        assertEquals(5, results.size());
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals("INVALID", results.get(1).get("status").asText());
+        assertEquals("DUPLICATE", results.get(2).get("status").asText());
+        assertEquals("DUPLICATE", results.get(3).get("status").asText());
+        assertEquals("INVALID", results.get(4).get("status").asText());
+        assertEquals(5, results.get(4).get("line").asLong());
+        assertEquals(1L, counts.get(ImportResultDto.Status.CREATED));
+
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(1)).batchInsertUsers(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals("encodedPassword", captor.getValue().get(0).getPassword());
+        assertEquals(Role.USER, captor.getValue().get(0).getRole());
+        verify(emailBloomFilter).put("john@example.com");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportUsers_Csv_KeepsPreEncodedHashWhenAllowed() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(bulkImportService, "acceptEncodedPasswords", true);
+        String input = "email,name,gender,password\n"
+                + "john@example.com,\"Doe, John\",male," + BCRYPT_HASH + "\n";
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(userRepository.batchInsertUsers(anyList())).thenReturn(new int[]{1});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        bulkImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), BulkImportService.Format.CSV, out);
+
+        // Assert
+        List<JsonNode> results = readResults(out);
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals(2, results.get(0).get("line").asLong());
+
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).batchInsertUsers(captor.capture());
+        User user = captor.getValue().get(0);
+        assertEquals("Doe, John", user.getName());
+        assertEquals(Gender.MALE, user.getGender());
+        assertEquals(BCRYPT_HASH, user.getPassword());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void testImportUsers_PreEncodedHashRejectedByDefault() throws Exception {
+        // Arrange
+        String input = "{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"gender\":\"MALE\",\"password\":\"" + BCRYPT_HASH + "\"}";
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        bulkImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), BulkImportService.Format.NDJSON, out);
+
+        // Assert
+        List<JsonNode> results = readResults(out);
+        assertEquals("INVALID", results.get(0).get("status").asText());
+        verify(userRepository, never()).batchInsertUsers(anyList());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void testImportUsers_WeakOrForeignEncodedPasswordRejected() throws Exception {
+        // Arrange: cost 4 is below the policy, {noop} is not BCrypt at all
+        ReflectionTestUtils.setField(bulkImportService, "acceptEncodedPasswords", true);
+        String weak = "{bcrypt}$2a$04$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+        String input = String.join("\n",
+                "{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"gender\":\"MALE\",\"password\":\"" + weak + "\"}",
+                "{\"name\":\"Jane Doe\",\"email\":\"jane@example.com\",\"gender\":\"FEMALE\",\"password\":\"{noop}password123\"}");
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        bulkImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), BulkImportService.Format.NDJSON, out);
+
+        // Assert
+        List<JsonNode> results = readResults(out);
+        assertEquals("INVALID", results.get(0).get("status").asText());
+        assertTrue(results.get(0).get("message").asText().contains("cost 4"));
+        assertEquals("INVALID", results.get(1).get("status").asText());
+        assertTrue(results.get(1).get("message").asText().contains("{noop}"));
+        verify(userRepository, never()).batchInsertUsers(anyList());
+    }
+
+    @Test
+    void testImportUsers_BatchConflictFallsBackToRowByRow() throws Exception {
+        // Arrange
+        String input = String.join("\n",
+                "{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"gender\":\"MALE\",\"password\":\"password123\"}",
+                "{\"name\":\"Jane Doe\",\"email\":\"jane@example.com\",\"gender\":\"FEMALE\",\"password\":\"password123\"}");
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.batchInsertUsers(argThat(users -> users != null && users.size() == 2)))
+                .thenThrow(new DuplicateKeyException("duplicate email"));
+        when(userRepository.batchInsertUsers(argThat(users -> users != null && users.size() == 1
+                && users.get(0).getEmail().equals("john@example.com")))).thenReturn(new int[]{1});
+        when(userRepository.batchInsertUsers(argThat(users -> users != null && users.size() == 1
+                && users.get(0).getEmail().equals("jane@example.com")))).thenThrow(new DuplicateKeyException("duplicate email",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST)\"", "23505")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        bulkImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), BulkImportService.Format.NDJSON, out);
+
+        // Assert
+        List<JsonNode> results = readResults(out);
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals("DUPLICATE", results.get(1).get("status").asText());
+        verify(emailBloomFilter, never()).put("jane@example.com");
+    }
+
+    @Test
+    void testImportUsers_OtherConstraintViolationReportedAsFailed() throws Exception {
+        // Arrange
+        String input = "{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"gender\":\"MALE\",\"password\":\"password123\"}";
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.batchInsertUsers(anyList())).thenThrow(new DataIntegrityViolationException("could not insert",
+                new SQLException("Value too long for column \"COUNTRY CHARACTER VARYING(255)\"", "22001")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        bulkImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), BulkImportService.Format.NDJSON, out);
+
+        // Assert
+        List<JsonNode> results = readResults(out);
+        assertEquals("FAILED", results.get(0).get("status").asText());
+        assertTrue(results.get(0).get("message").asText().startsWith("Value too long"));
+        verify(emailBloomFilter, never()).put(anyString());
+    }
+
+    private List<JsonNode> readResults(ByteArrayOutputStream out) throws Exception {
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : lines) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.utils.LocalInvalidationBroadcaster;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialCacheTest {
+
+    private final LocalInvalidationBroadcaster broadcaster = new LocalInvalidationBroadcaster();
+    private final CredentialCache credentialCache = new CredentialCache(true, 100, Duration.ofMinutes(5), broadcaster);
+
+    @Test
+    void testMatches_OnlyTheVerifiedPassword() {
+        credentialCache.put("john@example.com", "password123");
+
+        assertTrue(credentialCache.matches("john@example.com", "password123"));
+        assertFalse(credentialCache.matches("john@example.com", "password1234"));
+        assertFalse(credentialCache.matches("jane@example.com", "password123"));
+    }
+
+    @Test
+    void testInvalidate_RemovesEntry() {
+        credentialCache.put("john@example.com", "password123");
+        credentialCache.invalidate("john@example.com");
+
+        assertFalse(credentialCache.matches("john@example.com", "password123"));
+    }
+
+    @Test
+    void testInvalidate_RemovesEntryOnEveryNode() {
+        // Arrange: a second node sharing the in-JVM transport
+        CredentialCache otherNode = new CredentialCache(true, 100, Duration.ofMinutes(5), broadcaster);
+        credentialCache.put("john@example.com", "password123");
+        otherNode.put("john@example.com", "password123");
+
+        // Act
+        credentialCache.invalidate("john@example.com");
+
+        // Assert
+        assertFalse(credentialCache.matches("john@example.com", "password123"));
+        assertFalse(otherNode.matches("john@example.com", "password123"));
+    }
+
+    @Test
+    void testDisabled_NeverMatches() {
+        CredentialCache disabled = new CredentialCache(false, 100, Duration.ofMinutes(5), broadcaster);
+        disabled.put("john@example.com", "password123");
+
+        assertFalse(disabled.matches("john@example.com", "password123"));
+    }
+}
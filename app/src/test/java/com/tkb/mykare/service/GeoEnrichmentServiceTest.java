@@ -0,0 +1,93 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeoEnrichmentServiceTest {
+
+    @Mock
+    private IpLocationService ipLocationService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private GeoEnrichmentService geoEnrichmentService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessBatch_WritesAllLocationsInOneBatch() {
+        // Arrange
+        IpLocationDto location = new IpLocationDto();
+        location.setCountry("India");
+        when(ipLocationService.getCurrentIpAddress()).thenReturn("203.0.113.7");
+        when(ipLocationService.getLocationByIp(anyString())).thenReturn(location);
+
+        // Act
+        geoEnrichmentService.processBatch(Arrays.asList(
+                new GeoEnrichmentService.PendingLookup(1L, null),
+                new GeoEnrichmentService.PendingLookup(2L, null),
+                new GeoEnrichmentService.PendingLookup(3L, "198.51.100.1")));
+
+        // Assert
+        ArgumentCaptor<Map<Long, IpLocationDto>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository, times(1)).batchUpdateLocations(captor.capture());
+        Map<Long, IpLocationDto> updates = captor.getValue();
+        assertEquals(3, updates.size());
+        assertEquals("203.0.113.7", updates.get(1L).getIp());
+        assertEquals("198.51.100.1", updates.get(3L).getIp());
+        assertEquals("India", updates.get(2L).getCountry());
+        verify(ipLocationService, times(1)).getCurrentIpAddress();
+        assertEquals(3, geoEnrichmentService.getStatus().getCompleted());
+    }
+
+    @Test
+    void testEnqueue_DisabledCountsAsRejected() {
+        // Act
+        geoEnrichmentService.enqueue(1L, null);
+
+        // Assert
+        assertFalse(geoEnrichmentService.getStatus().isEnabled());
+        assertEquals(1, geoEnrichmentService.getStatus().getRejected());
+    }
+
+    @Test
+    void testBackfill_RequeuesUsersWithoutLocationUpToFreeCapacity() {
+        // Arrange
+        BlockingQueue<GeoEnrichmentService.PendingLookup> queue = new ArrayBlockingQueue<>(3);
+        queue.add(new GeoEnrichmentService.PendingLookup(1L, "198.51.100.1"));
+        ReflectionTestUtils.setField(geoEnrichmentService, "queue", queue);
+        Map<Long, String> missing = new LinkedHashMap<>();
+        missing.put(7L, "203.0.113.7");
+        missing.put(8L, "203.0.113.8");
+        when(userRepository.findMissingLocations(2)).thenReturn(missing);
+
+        // Act
+        int queued = geoEnrichmentService.backfill();
+
+        // Assert
+        assertEquals(2, queued);
+        assertEquals(3, queue.size());
+        assertEquals(2, geoEnrichmentService.getStatus().getBackfilled());
+        assertEquals(2, geoEnrichmentService.getStatus().getEnqueued());
+        assertEquals(0, geoEnrichmentService.getStatus().getRejected());
+    }
+}
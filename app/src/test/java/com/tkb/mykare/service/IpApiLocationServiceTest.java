@@ -0,0 +1,228 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.utils.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IpApiLocationServiceTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private GeoLocationCache locationCache = new GeoLocationCache(100, Duration.ofHours(1), Duration.ofMinutes(1), meterRegistry);
+
+    @Mock
+    private IpLocationBatcher locationBatcher;
+
+    @Spy
+    private CircuitBreaker geoCircuitBreaker = new CircuitBreaker("ip-api", 4, 2, 0.5, Duration.ofMinutes(1));
+
+    @InjectMocks
+    private IpApiLocationService ipLocationService;
+
+    @BeforeEach
+    void setUp() {
+        // Use reflection to inject the mocked RestTemplate
+        try {
+            java.lang.reflect.Field field = IpApiLocationService.class.getDeclaredField("restTemplate");
+            field.setAccessible(true);
+            field.set(ipLocationService, restTemplate);
+        } catch (Exception e) {
+            fail("Failed to inject RestTemplate mock");
+        }
+    }
+
+    @Test
+    void testGetCurrentIpAddress_Success() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn("192.168.1.1");
+
+        // Act
+        boolean resolved = ipLocationService.resolveServerIpAddress();
+        String result = ipLocationService.getCurrentIpAddress();
+
+        // Assert
+        assertTrue(resolved);
+        assertEquals("192.168.1.1", result);
+    }
+
+    @Test
+    void testGetCurrentIpAddress_DoesNotCallIpify() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn("192.168.1.1");
+        ipLocationService.resolveServerIpAddress();
+
+        // Act
+        ipLocationService.getCurrentIpAddress();
+        String result = ipLocationService.getCurrentIpAddress();
+
+        // Assert
+        assertEquals("192.168.1.1", result);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testGetCurrentIpAddress_NotResolvedYet() {
+        // Act
+        String result = ipLocationService.getCurrentIpAddress();
+
+        // Assert
+        assertEquals("Unknown", result);
+        verify(restTemplate, never()).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testGetCurrentIpAddress_Exception() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenThrow(new RestClientException("Connection failed"));
+
+        // Act
+        boolean resolved = ipLocationService.resolveServerIpAddress();
+        String result = ipLocationService.getCurrentIpAddress();
+
+        // Assert
+        assertFalse(resolved);
+        assertEquals("Unknown", result);
+    }
+
+    @Test
+    void testGetLocationByIp_Success() {
+        // Arrange
+        IpLocationDto mockLocation = new IpLocationDto();
+        mockLocation.setIp("192.168.1.1");
+        mockLocation.setCountry("United States");
+        mockLocation.setStatus("success");
+
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), eq("192.168.1.1")))
+                .thenReturn(mockLocation);
+
+        // Act
+        IpLocationDto result = ipLocationService.getLocationByIp("192.168.1.1");
+
+        // Assert
+        assertEquals("United States", result.getCountry());
+        assertEquals("192.168.1.1", result.getIp());
+    }
+
+    @Test
+    void testGetLocationByIp_Exception() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), eq("192.168.1.1")))
+                .thenThrow(new RestClientException("Connection failed"));
+
+        // Act
+        IpLocationDto result = ipLocationService.getLocationByIp("192.168.1.1");
+
+        // Assert
+        assertEquals("Unknown", result.getCountry());
+        assertEquals("192.168.1.1", result.getIp());
+    }
+
+    @Test
+    void testGetLocationByIp_UnexpectedExceptionRecordedAsFailure() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), eq("192.168.1.1")))
+                .thenThrow(new IllegalArgumentException("Not enough variable values available to expand 'ip'"));
+
+        // Act
+        IpLocationDto result = ipLocationService.getLocationByIp("192.168.1.1");
+
+        // Assert
+        assertEquals("Unknown", result.getCountry());
+        verify(geoCircuitBreaker).recordFailure();
+    }
+
+    @Test
+    void testGetLocationByIp_RepeatedIpServedFromCache() {
+        // Arrange
+        IpLocationDto mockLocation = new IpLocationDto();
+        mockLocation.setCountry("India");
+        mockLocation.setStatus("success");
+
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), eq("10.0.0.1")))
+                .thenReturn(mockLocation);
+
+        // Act
+        ipLocationService.getLocationByIp("10.0.0.1");
+        IpLocationDto result = ipLocationService.getLocationByIp("10.0.0.1");
+
+        // Assert
+        assertEquals("India", result.getCountry());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(IpLocationDto.class), eq("10.0.0.1"));
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "geo").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "geo").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGetLocationByIp_UnknownResultIsNegativelyCached() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), eq("10.0.0.2")))
+                .thenThrow(new RestClientException("Connection failed"));
+
+        // Act
+        ipLocationService.getLocationByIp("10.0.0.2");
+        IpLocationDto result = ipLocationService.getLocationByIp("10.0.0.2");
+
+        // Assert
+        assertEquals("Unknown", result.getCountry());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(IpLocationDto.class), eq("10.0.0.2"));
+    }
+
+    @Test
+    void testGetLocationByIp_CircuitOpensAfterFailures() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), anyString()))
+                .thenThrow(new RestClientException("Read timed out"));
+
+        // Act
+        ipLocationService.getLocationByIp("10.0.0.3");
+        ipLocationService.getLocationByIp("10.0.0.4");
+        IpLocationDto result = ipLocationService.getLocationByIp("10.0.0.5");
+
+        // Assert
+        assertEquals("Unknown", result.getCountry());
+        assertEquals(CircuitBreaker.State.OPEN, geoCircuitBreaker.getState());
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(IpLocationDto.class), anyString());
+    }
+
+    @Test
+    void testGetLocationByIp_LookupsTimedByOutcome() {
+        // Arrange
+        IpLocationDto locationDto = new IpLocationDto();
+        locationDto.setStatus("success");
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), eq("10.0.0.6"))).thenReturn(locationDto);
+        when(restTemplate.getForObject(anyString(), eq(IpLocationDto.class), eq("10.0.0.7")))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        // Act
+        ipLocationService.getLocationByIp("10.0.0.6");
+        ipLocationService.getLocationByIp("10.0.0.6");
+        ipLocationService.getLocationByIp("10.0.0.7");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("geo.lookup").tags("service", "ip-api", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("geo.lookup").tags("service", "ip-api", "outcome", "error").timer().count());
+    }
+}
\ No newline at end of file
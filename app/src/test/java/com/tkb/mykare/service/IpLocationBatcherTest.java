@@ -0,0 +1,108 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.utils.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IpLocationBatcherTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Spy
+    private CircuitBreaker geoCircuitBreaker = new CircuitBreaker("ip-api", 10, 10, 0.5, Duration.ofMinutes(1));
+
+    @InjectMocks
+    private IpLocationBatcher locationBatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(locationBatcher, "pending", new LinkedBlockingQueue<String>());
+    }
+
+    @Test
+    void testSubmit_SameIpSharesOneFuture() {
+        CompletableFuture<IpLocationDto> first = locationBatcher.submit("8.8.8.8");
+        CompletableFuture<IpLocationDto> second = locationBatcher.submit("8.8.8.8");
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_OnePostCompletesEveryCaller() {
+        // Arrange
+        CompletableFuture<IpLocationDto> us = locationBatcher.submit("8.8.8.8");
+        CompletableFuture<IpLocationDto> in = locationBatcher.submit("1.186.0.1");
+
+        IpLocationDto usLocation = new IpLocationDto();
+        usLocation.setCountry("United States");
+        usLocation.setStatus("success");
+        IpLocationDto inLocation = new IpLocationDto();
+        inLocation.setCountry("India");
+        inLocation.setStatus("success");
+        when(restTemplate.postForObject(anyString(), any(List.class), eq(IpLocationDto[].class)))
+                .thenReturn(new IpLocationDto[]{usLocation, inLocation});
+
+        // Act
+        locationBatcher.flush(Arrays.asList("8.8.8.8", "1.186.0.1"));
+
+        // Assert
+        verify(restTemplate, times(1)).postForObject(anyString(), any(List.class), eq(IpLocationDto[].class));
+        assertEquals("United States", us.join().getCountry());
+        assertEquals("8.8.8.8", us.join().getIp());
+        assertEquals("India", in.join().getCountry());
+        assertNotSame(us, locationBatcher.submit("8.8.8.8"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_ProviderErrorCompletesWithNull() {
+        // Arrange
+        CompletableFuture<IpLocationDto> future = locationBatcher.submit("8.8.8.8");
+        when(restTemplate.postForObject(anyString(), any(List.class), eq(IpLocationDto[].class)))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        // Act
+        locationBatcher.flush(List.of("8.8.8.8"));
+
+        // Assert
+        assertNull(future.join());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_UnexpectedExceptionRecordedAsFailure() {
+        // Arrange
+        CompletableFuture<IpLocationDto> future = locationBatcher.submit("8.8.8.8");
+        when(restTemplate.postForObject(anyString(), any(List.class), eq(IpLocationDto[].class)))
+                .thenThrow(new IllegalStateException("No HttpMessageConverter for java.util.List"));
+
+        // Act
+        locationBatcher.flush(List.of("8.8.8.8"));
+
+        // Assert
+        assertNull(future.join());
+        verify(geoCircuitBreaker).recordFailure();
+    }
+}
@@ -0,0 +1,151 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.configuration.TokenConfig;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.utils.LocalInvalidationBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final TokenConfig tokenConfig = new TokenConfig();
+    private final LocalInvalidationBroadcaster broadcaster = new LocalInvalidationBroadcaster();
+    private final TokenRevocationList revocationList = new TokenRevocationList(Duration.ofMinutes(15), 1000, broadcaster);
+    private final TokenService tokenService = new TokenService();
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        SecretKey key = tokenConfig.tokenSigningKey(SECRET);
+        ReflectionTestUtils.setField(tokenService, "jwtEncoder", tokenConfig.jwtEncoder(key));
+        ReflectionTestUtils.setField(tokenService, "revocationList", revocationList);
+        jwtDecoder = tokenConfig.jwtDecoder(key, revocationList, "mykare");
+    }
+
+    @Test
+    void testIssue_TokenCarriesSubjectAndRoles() {
+        // Act
+        Jwt issued = tokenService.issue("admin@mykare.com", Role.ADMIN);
+        Jwt decoded = jwtDecoder.decode(issued.getTokenValue());
+
+        // Assert
+        assertEquals("admin@mykare.com", decoded.getSubject());
+        assertEquals(List.of("ADMIN"), decoded.getClaimAsStringList(TokenService.ROLES_CLAIM));
+        assertEquals(Duration.ofMinutes(15), Duration.between(decoded.getIssuedAt(), decoded.getExpiresAt()));
+    }
+
+    @Test
+    void testDecode_RejectsTokenSignedWithAnotherKey() {
+        // Arrange
+        SecretKey otherKey = tokenConfig.tokenSigningKey("");
+        JwtDecoder otherDecoder = tokenConfig.jwtDecoder(otherKey, revocationList, "mykare");
+        Jwt issued = tokenService.issue("john@example.com", Role.USER);
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> otherDecoder.decode(issued.getTokenValue()));
+    }
+
+    @Test
+    void testRevoke_OnlyThatTokenIsRejected() {
+        // Arrange
+        Jwt first = tokenService.issue("john@example.com", Role.USER);
+        Jwt second = tokenService.issue("john@example.com", Role.USER);
+
+        // Act
+        tokenService.revoke(jwtDecoder.decode(first.getTokenValue()));
+
+        // Assert
+        assertThrows(JwtValidationException.class, () -> jwtDecoder.decode(first.getTokenValue()));
+        assertEquals("john@example.com", jwtDecoder.decode(second.getTokenValue()).getSubject());
+    }
+
+    @Test
+    void testRevokeAll_RejectsEveryEarlierTokenOfTheUser() {
+        // Arrange
+        Jwt johns = issuedSecondsAgo("john@example.com", 5);
+        Jwt janes = issuedSecondsAgo("jane@example.com", 5);
+
+        // Act
+        tokenService.revokeAll("john@example.com");
+
+        // Assert
+        assertTrue(revocationList.isRevoked(johns));
+        assertFalse(revocationList.isRevoked(janes));
+    }
+
+    @Test
+    void testRevokeAll_AcceptsTokenIssuedInTheSameSecond() {
+        // Arrange
+        tokenService.revokeAll("john@example.com");
+
+        // Act
+        Jwt issued = tokenService.issue("john@example.com", Role.USER);
+
+        // Assert
+        assertEquals("john@example.com", jwtDecoder.decode(issued.getTokenValue()).getSubject());
+    }
+
+    @Test
+    void testRevocations_ReachOtherNodes() {
+        // Arrange
+        TokenRevocationList otherNode = new TokenRevocationList(Duration.ofMinutes(15), 1000, broadcaster);
+        Jwt token = tokenService.issue("john@example.com", Role.USER);
+        Jwt janes = issuedSecondsAgo("jane@example.com", 5);
+
+        // Act
+        tokenService.revoke(jwtDecoder.decode(token.getTokenValue()));
+        tokenService.revokeAll("jane@example.com");
+
+        // Assert
+        assertTrue(otherNode.isRevoked(token));
+        assertTrue(otherNode.isRevoked(janes));
+    }
+
+    @Test
+    void testRevokeAll_DelayedMessageDoesNotMoveCutOffBack() {
+        // Arrange
+        tokenService.revokeAll("john@example.com");
+        Jwt earlier = issuedSecondsAgo("john@example.com", 5);
+
+        // Act
+        broadcaster.publish(TokenRevocationList.MESSAGE_PREFIX + "subject:"
+                + Instant.now().minusSeconds(60).getEpochSecond() + ":john@example.com");
+
+        // Assert
+        assertTrue(revocationList.isRevoked(earlier));
+    }
+
+    @Test
+    void testReceive_IgnoresCacheEvictionsAndMalformedMessages() {
+        // Act
+        broadcaster.publish("john@example.com");
+        broadcaster.publish(TokenRevocationList.MESSAGE_PREFIX + "subject:soon:john@example.com");
+
+        // Assert
+        assertFalse(revocationList.isRevoked(issuedSecondsAgo("john@example.com", 5)));
+    }
+
+    private static Jwt issuedSecondsAgo(String subject, long seconds) {
+        Instant issuedAt = Instant.now().minusSeconds(seconds);
+        return Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject(subject)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(Duration.ofMinutes(15)))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.utils.LocalInvalidationBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalInvalidationBroadcaster broadcaster = new LocalInvalidationBroadcaster();
+    private final UserCache userCache = new UserCache(true, 100, Duration.ofMinutes(5), meterRegistry, broadcaster);
+
+    @Test
+    void testGet_LoadsOnceAndRecordsHitRate() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            userCache.get("john@example.com", email -> {
+                loads.incrementAndGet();
+                return Optional.of(user(email));
+            });
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGet_MissingUserIsNotCached() {
+        // Act
+        userCache.get("john@example.com", email -> Optional.empty());
+
+        // Assert
+        assertTrue(userCache.getIfPresent("john@example.com").isEmpty());
+        assertEquals("john@example.com",
+                userCache.get("john@example.com", email -> Optional.of(user(email))).orElseThrow().getEmail());
+    }
+
+    @Test
+    void testInvalidate_EvictsOnEveryNode() {
+        // Arrange: a second node sharing the in-JVM transport
+        UserCache otherNode = new UserCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry(), broadcaster);
+        userCache.get("john@example.com", email -> Optional.of(user(email)));
+        otherNode.get("john@example.com", email -> Optional.of(user(email)));
+
+        // Act
+        userCache.invalidate("john@example.com");
+
+        // Assert
+        assertTrue(userCache.getIfPresent("john@example.com").isEmpty());
+        assertTrue(otherNode.getIfPresent("john@example.com").isEmpty());
+    }
+
+    @Test
+    void testGet_LoadOverlappingInvalidationIsNotCached() {
+        // Act: the user is deleted while its row is being read
+        Optional<User> loaded = userCache.get("john@example.com", email -> {
+            userCache.invalidate(email);
+            return Optional.of(user(email));
+        });
+
+        // Assert
+        assertTrue(loaded.isPresent());
+        assertTrue(userCache.getIfPresent("john@example.com").isEmpty());
+    }
+
+    @Test
+    void testDisabled_AlwaysLoads() {
+        // Arrange
+        UserCache disabled = new UserCache(false, 100, Duration.ofMinutes(5), new SimpleMeterRegistry(), broadcaster);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            disabled.get("john@example.com", email -> {
+                loads.incrementAndGet();
+                return Optional.of(user(email));
+            });
+        }
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertTrue(disabled.getIfPresent("john@example.com").isEmpty());
+    }
+
+    private static User user(String email) {
+        User user = new User("John Doe", email, Gender.MALE, "encodedPassword");
+        user.setId(1L);
+        user.setRole(Role.USER);
+        return user;
+    }
+}
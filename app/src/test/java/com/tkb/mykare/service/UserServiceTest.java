@@ -0,0 +1,505 @@
+package com.tkb.mykare.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tkb.mykare.dto.BulkDeleteResultDto;
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.dto.UserRegistrationDto;
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.User;
+import com.tkb.mykare.exception.UserAlreadyExistsException;
+import com.tkb.mykare.repository.UserRepository;
+import com.tkb.mykare.utils.LocalInvalidationBroadcaster;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private IpLocationService ipLocationService;
+
+    @Mock
+    private GeoEnrichmentService geoEnrichmentService;
+
+    @Mock
+    private CredentialCache credentialCache;
+
+    @Spy
+    private UserCache userCache = new UserCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry(), new LocalInvalidationBroadcaster());
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @InjectMocks
+    private UserService userService;
+
+    private UserRegistrationDto registrationDto;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        registrationDto = new UserRegistrationDto("John Doe", "john@example.com", Gender.MALE, "password123");
+
+        user = new User();
+        user.setId(1L);
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setGender(Gender.MALE);
+        user.setPassword("encodedPassword");
+        user.setIpAddress("192.168.1.1");
+        user.setCountry("United States");
+        user.setRole(Role.USER);
+    }
+
+    @Test
+    void testRegisterUser_Success() {
+        // Arrange
+        when(passwordHashingService.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
+        when(ipLocationService.getCurrentIpAddress()).thenReturn("192.168.1.1");
+
+        IpLocationDto locationDto = new IpLocationDto();
+        locationDto.setCountry("United States");
+        when(ipLocationService.getLocationByIp("192.168.1.1")).thenReturn(locationDto);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+
+        // Act
+        UserResponseDto result = userService.registerUser(registrationDto);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(user.getName(), result.getName());
+        assertEquals(user.getEmail(), result.getEmail());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void testRegisterUser_RecordsPhaseTimers() {
+        // Arrange
+        when(passwordHashingService.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
+        when(ipLocationService.getLocationByIp("203.0.113.9")).thenReturn(new IpLocationDto());
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+
+        // Act
+        userService.registerUser(registrationDto, "203.0.113.9");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("user.registration").tag("outcome", "created").timer().count());
+        for (String phase : List.of("hash", "geo", "insert")) {
+            assertEquals(1, meterRegistry.get("user.registration.phase").tag("phase", phase).timer().count());
+        }
+        assertNull(meterRegistry.find("user.registration.phase").tag("phase", "lookup").timer());
+    }
+
+    @Test
+    void testRegisterUser_UsesClientIp() {
+        // Arrange
+        when(passwordHashingService.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
+
+        IpLocationDto locationDto = new IpLocationDto();
+        locationDto.setCountry("India");
+        when(ipLocationService.getLocationByIp("203.0.113.9")).thenReturn(locationDto);
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        UserResponseDto result = userService.registerUser(registrationDto, "203.0.113.9");
+
+        // Assert
+        assertEquals("203.0.113.9", result.getIpAddress());
+        assertEquals("India", result.getCountry());
+        verify(ipLocationService, never()).getCurrentIpAddress();
+    }
+
+    @Test
+    void testRegisterUser_AsyncGeoEnrichment() {
+        // Arrange
+        when(passwordHashingService.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
+        when(geoEnrichmentService.isEnabled()).thenReturn(true);
+        when(ipLocationService.getCurrentIpAddress()).thenReturn("192.168.1.1");
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        UserResponseDto result = userService.registerUser(registrationDto);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("192.168.1.1", result.getIpAddress());
+        assertNull(result.getCountry());
+        verify(ipLocationService, never()).getLocationByIp(anyString());
+        verify(geoEnrichmentService).enqueue(result.getId(), "192.168.1.1");
+    }
+
+    @Test
+    void testRegisterUser_AsyncGeoEnrichment_KeepsClientIpForBackfill() {
+        // Arrange
+        when(passwordHashingService.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
+        when(geoEnrichmentService.isEnabled()).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        UserResponseDto result = userService.registerUser(registrationDto, "203.0.113.9");
+
+        // Assert
+        assertEquals("203.0.113.9", result.getIpAddress());
+        verify(ipLocationService, never()).getCurrentIpAddress();
+        verify(geoEnrichmentService).enqueue(result.getId(), "203.0.113.9");
+    }
+
+    @Test
+    void testRegisterUser_UserAlreadyExists() {
+        // Arrange
+        when(passwordHashingService.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
+        when(ipLocationService.getCurrentIpAddress()).thenReturn("192.168.1.1");
+        when(ipLocationService.getLocationByIp("192.168.1.1")).thenReturn(new IpLocationDto());
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(integrityViolation("23505",
+                "Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST)\"",
+                "PUBLIC.UK_USERS_EMAIL_INDEX_4"));
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> {
+            userService.registerUser(registrationDto);
+        });
+
+        verify(emailBloomFilter, never()).put(anyString());
+    }
+
+    @Test
+    void testRegisterUser_OtherIntegrityViolationIsNotDuplicate() {
+        // Arrange: a NOT NULL violation whose message still mentions the email column
+        when(passwordHashingService.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
+        when(ipLocationService.getCurrentIpAddress()).thenReturn("192.168.1.1");
+        when(ipLocationService.getLocationByIp("192.168.1.1")).thenReturn(new IpLocationDto());
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(integrityViolation("23502",
+                "NULL not allowed for column \"EMAIL\"", null));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> userService.registerUser(registrationDto));
+        assertFalse(meterRegistry.find("user.registration").tag("outcome", "duplicate").timers().stream()
+                .anyMatch(timer -> timer.count() > 0));
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String sqlState, String message, String constraintName) {
+        SQLException cause = new SQLException(message, sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, constraintName));
+    }
+
+    @Test
+    void testRegisterUser_BloomFilterHitRejectedBeforeHashing() {
+        // Arrange
+        when(emailBloomFilter.mightContain(registrationDto.getEmail())).thenReturn(true);
+        when(userRepository.existsByEmail(registrationDto.getEmail())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> {
+            userService.registerUser(registrationDto);
+        });
+
+        verify(passwordHashingService, never()).encode(anyString());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void testValidateUser_ValidCredentials() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(true);
+
+        // Act
+        boolean result = userService.validateUser("john@example.com", "password123");
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void testValidateUser_ValidCredentialsAreCached() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(true);
+
+        // Act
+        userService.validateUser("john@example.com", "password123");
+
+        // Assert
+        verify(credentialCache).put("john@example.com", "password123");
+    }
+
+    @Test
+    void testValidateUser_RepeatLoginServedFromUserCache() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(true);
+
+        // Act
+        userService.validateUser("john@example.com", "password123");
+        boolean result = userService.validateUser("john@example.com", "password123");
+
+        // Assert
+        assertTrue(result);
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+        verify(passwordHashingService, times(2)).matches("password123", "encodedPassword");
+    }
+
+    @Test
+    void testRegisterUser_CachedUserRejectedWithoutLookup() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(true);
+        userService.validateUser("john@example.com", "password123");
+        when(emailBloomFilter.mightContain(registrationDto.getEmail())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> userService.registerUser(registrationDto));
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void testValidateUser_RehashesOffPolicyHash() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenReturn("{bcrypt}upgraded");
+
+        // Act
+        boolean result = userService.validateUser("john@example.com", "password123");
+
+        // Assert
+        assertTrue(result);
+        assertEquals("{bcrypt}upgraded", user.getPassword());
+        verify(userRepository).updatePassword(1L, "{bcrypt}upgraded");
+        verify(userCache).invalidate("john@example.com");
+    }
+
+    @Test
+    void testValidateUser_InvalidPasswordRecordsOutcome() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("wrong", user.getPassword())).thenReturn(false);
+
+        // Act
+        boolean result = userService.validateUser("john@example.com", "wrong");
+
+        // Assert
+        assertFalse(result);
+        assertEquals(1, meterRegistry.get("user.validation").tag("outcome", "invalid").timer().count());
+        assertEquals(1, meterRegistry.get("user.validation.phase").tag("phase", "lookup").timer().count());
+        assertEquals(1, meterRegistry.get("user.validation.phase").tag("phase", "hash").timer().count());
+    }
+
+    @Test
+    void testValidateUser_CacheHitSkipsLookupAndHash() {
+        // Arrange
+        when(credentialCache.matches("john@example.com", "password123")).thenReturn(true);
+
+        // Act
+        boolean result = userService.validateUser("john@example.com", "password123");
+
+        // Assert
+        assertTrue(result);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testAuthenticate_ReturnsRoleOfVerifiedUser() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(true);
+
+        // Act
+        Optional<Role> role = userService.authenticate("john@example.com", "password123");
+
+        // Assert
+        assertEquals(Optional.of(Role.USER), role);
+        verify(credentialCache).put("john@example.com", "password123");
+    }
+
+    @Test
+    void testAuthenticate_CacheHitLooksUpRoleOnly() {
+        // Arrange
+        when(credentialCache.matches("john@example.com", "password123")).thenReturn(true);
+        when(userRepository.findRoleByEmail("john@example.com")).thenReturn(Optional.of(Role.ADMIN));
+
+        // Act
+        Optional<Role> role = userService.authenticate("john@example.com", "password123");
+
+        // Assert
+        assertEquals(Optional.of(Role.ADMIN), role);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testAuthenticate_InvalidCredentials() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("wrongpassword", user.getPassword())).thenReturn(false);
+
+        // Act
+        Optional<Role> role = userService.authenticate("john@example.com", "wrongpassword");
+
+        // Assert
+        assertTrue(role.isEmpty());
+        verify(credentialCache, never()).put(anyString(), anyString());
+    }
+
+    @Test
+    void testValidateUser_InvalidCredentials() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("wrongpassword", user.getPassword())).thenReturn(false);
+
+        // Act
+        boolean result = userService.validateUser("john@example.com", "wrongpassword");
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void testValidateUser_UserNotFound() {
+        // Arrange
+        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = userService.validateUser("nonexistent@example.com", "password123");
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void testGetUsersAfter() {
+        // Arrange
+        when(userRepository.findSummariesAfter(0L, Limit.of(2))).thenReturn(List.of(new UserResponseDto(user)));
+
+        // Act
+        List<UserResponseDto> result = userService.getUsersAfter(0L, 2);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(user.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void testExportUsers_WritesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        User user2 = new User();
+        user2.setId(2L);
+        user2.setName("Jane Doe");
+        user2.setEmail("jane@example.com");
+        when(userRepository.streamAllSummaries())
+                .thenReturn(Stream.of(new UserResponseDto(user), new UserResponseDto(user2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = userService.exportUsers(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("john@example.com", objectMapper.readTree(lines[0]).get("email").asText());
+        assertEquals("jane@example.com", objectMapper.readTree(lines[1]).get("email").asText());
+    }
+
+    @Test
+    void testDeleteUserByEmail_Success() {
+        // Arrange
+        when(userRepository.deleteByEmail("john@example.com")).thenReturn(1);
+
+        // Act
+        boolean result = userService.deleteUserByEmail("john@example.com");
+
+        // Assert
+        assertTrue(result);
+        verify(userRepository).deleteByEmail("john@example.com");
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(credentialCache).invalidate("john@example.com");
+        verify(userCache).invalidate("john@example.com");
+        verify(tokenService).revokeAll("john@example.com");
+    }
+
+    @Test
+    void testDeleteUserByEmail_UserNotFound() {
+        // Arrange
+        when(userRepository.deleteByEmail("nonexistent@example.com")).thenReturn(0);
+
+        // Act
+        boolean result = userService.deleteUserByEmail("nonexistent@example.com");
+
+        // Assert
+        assertFalse(result);
+        verify(credentialCache, never()).invalidate(anyString());
+        verify(userCache, never()).invalidate(anyString());
+        verify(tokenService, never()).revokeAll(anyString());
+    }
+
+    @Test
+    void testDeleteUsersByEmail_SingleBatch() {
+        // Arrange
+        when(userRepository.batchDeleteByEmail(List.of("john@example.com", "nonexistent@example.com")))
+                .thenReturn(new int[]{1, 0});
+
+        // Act
+        BulkDeleteResultDto result = userService.deleteUsersByEmail(
+                List.of("john@example.com", "nonexistent@example.com", "john@example.com"));
+
+        // Assert
+        assertEquals(1, result.getDeleted());
+        assertEquals(List.of("nonexistent@example.com"), result.getNotFound());
+        verify(userRepository, times(1)).batchDeleteByEmail(anyList());
+        verify(credentialCache).invalidate("john@example.com");
+        verify(userCache).invalidate("john@example.com");
+        verify(userCache, never()).invalidate("nonexistent@example.com");
+        verify(tokenService).revokeAll("john@example.com");
+        verify(tokenService, never()).revokeAll("nonexistent@example.com");
+    }
+}
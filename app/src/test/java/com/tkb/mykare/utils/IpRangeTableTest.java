@@ -0,0 +1,59 @@
+package com.tkb.mykare.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpRangeTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    private IpRangeTable table;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path csv = tempDir.resolve("ip-country.csv");
+        Files.writeString(csv, String.join("\n",
+                "ip_from,ip_to,country_code,country_name",
+                "\"16777216\",\"16777471\",\"AU\",\"Australia\"",
+                "8.8.8.0,8.8.8.255,US,United States",
+                "1.186.0.0,1.186.255.255,IN,India",
+                "2001:4860::,2001:4860:ffff:ffff:ffff:ffff:ffff:ffff,US,United States",
+                "175.192.0.0,175.192.255.255,KR,\"Korea, Republic of\""));
+        Path compiled = tempDir.resolve("ip-country.bin");
+
+        IpRangeTable.compile(csv, compiled);
+        table = IpRangeTable.open(compiled);
+    }
+
+    @Test
+    void testLookupCountry_Ipv4() {
+        assertEquals(5, table.size());
+        assertEquals("United States", table.lookupCountry("8.8.8.8"));
+        assertEquals("India", table.lookupCountry("1.186.12.34"));
+        assertEquals("Australia", table.lookupCountry("1.0.0.1"));
+        assertEquals("Korea, Republic of", table.lookupCountry("175.192.0.0"));
+    }
+
+    @Test
+    void testLookupCountry_Ipv6AndMappedIpv4() {
+        assertEquals("United States", table.lookupCountry("2001:4860:4860::8888"));
+        assertEquals("India", table.lookupCountry("::ffff:1.186.0.1"));
+    }
+
+    @Test
+    void testLookupCountry_NotCoveredOrInvalid() {
+        assertNull(table.lookupCountry("8.8.9.0"));
+        assertNull(table.lookupCountry("192.168.1.1"));
+        assertNull(table.lookupCountry("Unknown"));
+        assertNull(table.lookupCountry("300.1.1.1"));
+        assertNull(table.lookupCountry(null));
+        assertNull(table.lookupCountry("foo:bar"));
+    }
+}
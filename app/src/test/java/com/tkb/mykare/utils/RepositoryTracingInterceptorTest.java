@@ -0,0 +1,88 @@
+package com.tkb.mykare.utils;
+
+import com.tkb.mykare.repository.UserRepository;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryTracingInterceptorTest {
+
+    private final SimpleTracer tracer = new SimpleTracer();
+    private final RepositoryTracingInterceptor interceptor = new RepositoryTracingInterceptor(() -> tracer, UserRepository.class);
+
+    @Mock
+    private MethodInvocation invocation;
+
+    @Test
+    void testInvoke_CreatesChildSpanInsideTrace() throws Throwable {
+        // Arrange
+        when(invocation.getMethod()).thenReturn(UserRepository.class.getMethod("findByEmail", String.class));
+        when(invocation.proceed()).thenReturn(Optional.empty());
+        Span parent = tracer.nextSpan().name("http post /api/users/login").start();
+
+        // Act
+        Object result;
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            result = interceptor.invoke(invocation);
+        } finally {
+            parent.end();
+        }
+
+        // Assert
+        assertEquals(Optional.empty(), result);
+        SimpleSpan span = repositorySpan("UserRepository.findByEmail");
+        assertEquals(parent.context().traceId(), span.getTraceId());
+        assertEquals(parent.context().spanId(), span.getParentId());
+        assertEquals("findByEmail", span.getTags().get("spring.data.repository.method"));
+    }
+
+    @Test
+    void testInvoke_RecordsErrorAndRethrows() throws Throwable {
+        // Arrange
+        when(invocation.getMethod()).thenReturn(UserRepository.class.getMethod("existsByEmail", String.class));
+        IllegalStateException failure = new IllegalStateException("connection lost");
+        when(invocation.proceed()).thenThrow(failure);
+        Span parent = tracer.nextSpan().start();
+
+        // Act & Assert
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            assertThrows(IllegalStateException.class, () -> interceptor.invoke(invocation));
+        }
+        SimpleSpan span = repositorySpan("UserRepository.existsByEmail");
+        assertSame(failure, span.getError());
+        assertTrue(span.getEndTimestamp().toEpochMilli() > 0);
+    }
+
+    @Test
+    void testInvoke_NoSpanOutsideTrace() throws Throwable {
+        // Arrange
+        when(invocation.proceed()).thenReturn(true);
+
+        // Act
+        Object result = interceptor.invoke(invocation);
+
+        // Assert
+        assertEquals(true, result);
+        assertTrue(tracer.getSpans().isEmpty());
+        verify(invocation, never()).getMethod();
+    }
+
+    private SimpleSpan repositorySpan(String name) {
+        return tracer.getSpans().stream()
+                .filter(span -> name.equals(span.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span named " + name));
+    }
+}
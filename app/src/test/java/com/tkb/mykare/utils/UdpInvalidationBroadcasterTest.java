@@ -0,0 +1,48 @@
+package com.tkb.mykare.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UdpInvalidationBroadcasterTest {
+
+    @Test
+    void testPublish_DeliveredToPeer() throws Exception {
+        // Arrange
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        try (UdpInvalidationBroadcaster receiver = new UdpInvalidationBroadcaster(new InetSocketAddress(loopback, 0), List.of());
+             UdpInvalidationBroadcaster sender = new UdpInvalidationBroadcaster(new InetSocketAddress(loopback, 0),
+                     List.of(new InetSocketAddress(loopback, receiver.getLocalPort())))) {
+            receiver.subscribe(received::add);
+
+            // Act
+            sender.publish("john@example.com");
+            sender.publish("jöhn@example.com");
+
+            // Assert
+            assertEquals("john@example.com", received.poll(5, TimeUnit.SECONDS));
+            assertEquals("jöhn@example.com", received.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testParsePeers_HostPortAndBracketedIpv6() {
+        // Act
+        List<InetSocketAddress> peers = UdpInvalidationBroadcaster.parsePeers(List.of("10.0.0.2:7600", " [::1]:7601 ", ""));
+
+        // Assert
+        assertEquals(2, peers.size());
+        assertEquals(7600, peers.get(0).getPort());
+        assertEquals("10.0.0.2", peers.get(0).getHostString());
+        assertEquals(7601, peers.get(1).getPort());
+        assertThrows(IllegalArgumentException.class, () -> UdpInvalidationBroadcaster.parsePeers(List.of("10.0.0.2")));
+    }
+}
@@ -1,6 +1,6 @@
 package com.tkb.mykare.dto;
 
-import com.tkb.mykare.entity.User;
+import com.tkb.mykare.entity.Gender;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,7 +15,7 @@ public class UserRegistrationDto {
     private String email;
 
     @NotNull(message = "Gender is required")
-    private User.Gender gender;
+    private Gender gender;
 
     @NotBlank(message = "Password is required")
     private String password;
@@ -23,7 +23,7 @@ public class UserRegistrationDto {
     // Constructors
     public UserRegistrationDto() {}
 
-    public UserRegistrationDto(String name, String email, User.Gender gender, String password) {
+    public UserRegistrationDto(String name, String email, Gender gender, String password) {
         this.name = name;
         this.email = email;
         this.gender = gender;
@@ -37,8 +37,8 @@ public class UserRegistrationDto {
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
 
-    public User.Gender getGender() { return gender; }
-    public void setGender(User.Gender gender) { this.gender = gender; }
+    public Gender getGender() { return gender; }
+    public void setGender(Gender gender) { this.gender = gender; }
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
@@ -1,6 +1,8 @@
 package com.tkb.mykare.dto;
 
-import com.tkb.mykare.entity.User;
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.entity.UserProfile;
 
 import java.time.LocalDateTime;
 
@@ -8,16 +10,29 @@ public class UserResponseDto {
     private Long id;
     private String name;
     private String email;
-    private User.Gender gender;
+    private Gender gender;
     private String ipAddress;
     private String country;
-    private User.Role role;
+    private Role role;
     private LocalDateTime createdAt;
 
     // Constructors
     public UserResponseDto() {}
 
-    public UserResponseDto(User user) {
+    // Used by the JPQL constructor expressions in the servlet application's UserRepository
+    public UserResponseDto(Long id, String name, String email, Gender gender, String ipAddress,
+                           String country, Role role, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.gender = gender;
+        this.ipAddress = ipAddress;
+        this.country = country;
+        this.role = role;
+        this.createdAt = createdAt;
+    }
+
+    public UserResponseDto(UserProfile user) {
         this.id = user.getId();
         this.name = user.getName();
         this.email = user.getEmail();
@@ -38,8 +53,8 @@ public class UserResponseDto {
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
 
-    public User.Gender getGender() { return gender; }
-    public void setGender(User.Gender gender) { this.gender = gender; }
+    public Gender getGender() { return gender; }
+    public void setGender(Gender gender) { this.gender = gender; }
 
     public String getIpAddress() { return ipAddress; }
     public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
@@ -47,8 +62,8 @@ public class UserResponseDto {
     public String getCountry() { return country; }
     public void setCountry(String country) { this.country = country; }
 
-    public User.Role getRole() { return role; }
-    public void setRole(User.Role role) { this.role = role; }
+    public Role getRole() { return role; }
+    public void setRole(Role role) { this.role = role; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
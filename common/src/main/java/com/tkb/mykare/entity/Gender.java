@@ -0,0 +1,5 @@
+package com.tkb.mykare.entity;
+
+public enum Gender {
+    MALE, FEMALE, OTHER
+}
@@ -0,0 +1,29 @@
+package com.tkb.mykare.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * The user columns exposed through {@link com.tkb.mykare.dto.UserResponseDto}, implemented by
+ * the JPA entity of the servlet application and the R2DBC entity of the reactive one.
+ */
+public interface UserProfile {
+
+    /** Name of the unique constraint on users.email; a violation of it means a duplicate registration. */
+    String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    Gender getGender();
+
+    String getIpAddress();
+
+    String getCountry();
+
+    Role getRole();
+
+    LocalDateTime getCreatedAt();
+}
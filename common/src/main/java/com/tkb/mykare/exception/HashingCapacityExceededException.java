@@ -0,0 +1,7 @@
+package com.tkb.mykare.exception;
+
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
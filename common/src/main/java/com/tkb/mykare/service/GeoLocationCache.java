@@ -0,0 +1,119 @@
+package com.tkb.mykare.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tkb.mykare.dto.IpLocationDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded (W-TinyLFU) cache of geolocation results keyed by IP.
+ * Successful lookups and "Unknown" fallbacks expire on separate TTLs so a failing
+ * provider is retried sooner than a good answer is refreshed.
+ *
+ * Entries are futures: the first caller for an IP installs one and runs the loader on its own
+ * thread after the map update has returned, and concurrent callers for the same IP wait on that
+ * future. A synchronous Caffeine load would run the HTTP call inside ConcurrentHashMap.compute,
+ * holding a monitor for its whole duration and pinning the carrier when called from a virtual
+ * thread. Non-blocking callers use {@link #getAsync} and share the same in-flight futures.
+ *
+ * Hit, miss and eviction counts are published as {@code cache.gets{cache="geo"}} and
+ * {@code cache.evictions{cache="geo"}}.
+ */
+@Component
+public class GeoLocationCache {
+
+    static final String CACHE_NAME = "geo";
+
+    private final AsyncCache<String, IpLocationDto> cache;
+
+    public GeoLocationCache(@Value("${mykare.geo.cache.max-size:10000}") long maxSize,
+                            @Value("${mykare.geo.cache.success-ttl:24h}") Duration successTtl,
+                            @Value("${mykare.geo.cache.unknown-ttl:5m}") Duration unknownTtl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LocationExpiry(successTtl.toNanos(), unknownTtl.toNanos()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    public IpLocationDto get(String ipAddress, Function<String, IpLocationDto> loader) {
+        CompletableFuture<IpLocationDto> created = new CompletableFuture<>();
+        boolean[] owner = new boolean[1];
+        CompletableFuture<IpLocationDto> future = cache.get(ipAddress, (key, executor) -> {
+            owner[0] = true;
+            return created;
+        });
+        if (owner[0]) {
+            try {
+                created.complete(loader.apply(ipAddress));
+            } catch (RuntimeException | Error e) {
+                // a failed future is dropped from the cache, so the next caller retries
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Returns the cached or in-flight lookup for the IP, starting one with the loader if there is
+     * none. A caller that cancels the returned future does not cancel the lookup others wait on.
+     */
+    public CompletableFuture<IpLocationDto> getAsync(String ipAddress,
+                                                     Function<String, CompletableFuture<IpLocationDto>> loader) {
+        return cache.get(ipAddress, (key, executor) -> loader.apply(key)).copy();
+    }
+
+    public IpLocationDto getIfPresent(String ipAddress) {
+        CompletableFuture<IpLocationDto> future = cache.getIfPresent(ipAddress);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private static final class LocationExpiry implements Expiry<String, IpLocationDto> {
+        private final long successTtlNanos;
+        private final long unknownTtlNanos;
+
+        private LocationExpiry(long successTtlNanos, long unknownTtlNanos) {
+            this.successTtlNanos = successTtlNanos;
+            this.unknownTtlNanos = unknownTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String ipAddress, IpLocationDto location, long currentTime) {
+            return "success".equals(location.getStatus()) ? successTtlNanos : unknownTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String ipAddress, IpLocationDto location, long currentTime, long currentDuration) {
+            return expireAfterCreate(ipAddress, location, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String ipAddress, IpLocationDto location, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
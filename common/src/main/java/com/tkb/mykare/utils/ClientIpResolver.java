@@ -0,0 +1,177 @@
+package com.tkb.mykare.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Works out the originating client address of a request.
+ *
+ * The socket peer is used unless it belongs to one of the configured trusted proxy CIDRs. In
+ * that case the {@code Forwarded} (RFC 7239) or {@code X-Forwarded-For} chain is walked from the
+ * right, skipping trusted hops, and the first untrusted hop wins. A header repeated on several
+ * lines is read as one list, in the order the lines arrived.
+ *
+ * Headers are passed in as a lookup so the servlet and the WebFlux application can share this
+ * class without either web stack on its classpath.
+ */
+@Component
+public class ClientIpResolver {
+
+    private final List<Cidr> trustedProxies = new ArrayList<>();
+
+    public ClientIpResolver(@Value("${mykare.client-ip.trusted-proxies:127.0.0.1/32,::1/128}") String[] trustedProxyCidrs) {
+        for (String cidr : trustedProxyCidrs) {
+            if (!cidr.isBlank()) {
+                trustedProxies.add(new Cidr(cidr.trim()));
+            }
+        }
+    }
+
+    /**
+     * @param remoteAddr the socket peer
+     * @param headers    every value of the named request header, in arrival order (empty if absent)
+     */
+    public String resolve(String remoteAddr, Function<String, ? extends Iterable<String>> headers) {
+        if (!isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        List<String> hops = parseForwarded(headers.apply("Forwarded"));
+        if (hops.isEmpty()) {
+            hops = parseXForwardedFor(headers.apply("X-Forwarded-For"));
+        }
+
+        String client = remoteAddr;
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            String hop = hops.get(i);
+            if (IpLiterals.toBytes(hop) == null) {
+                // "unknown", an obfuscated identifier or malformed text: nothing further left can be trusted
+                break;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        byte[] bytes = IpLiterals.toBytes(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.matches(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> parseXForwardedFor(Iterable<String> headers) {
+        List<String> hops = new ArrayList<>();
+        if (headers == null) {
+            return hops;
+        }
+        for (String header : headers) {
+            for (String part : header.split(",")) {
+                hops.add(stripPort(part.trim()));
+            }
+        }
+        return hops;
+    }
+
+    private static List<String> parseForwarded(Iterable<String> headers) {
+        List<String> hops = new ArrayList<>();
+        if (headers == null) {
+            return hops;
+        }
+        for (String header : headers) {
+            parseForwardedLine(header, hops);
+        }
+        return hops;
+    }
+
+    private static void parseForwardedLine(String header, List<String> hops) {
+        for (String element : header.split(",")) {
+            for (String pair : element.split(";")) {
+                String trimmed = pair.trim();
+                if (trimmed.regionMatches(true, 0, "for=", 0, 4)) {
+                    String value = trimmed.substring(4).trim();
+                    if (value.startsWith("\"") && value.endsWith("\"") && value.length() > 1) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    hops.add(stripPort(value));
+                }
+            }
+        }
+    }
+
+    private static String stripPort(String value) {
+        if (value.startsWith("[")) {
+            int end = value.indexOf(']');
+            return end > 0 ? value.substring(1, end) : value;
+        }
+        int colon = value.indexOf(':');
+        if (colon > 0 && colon == value.lastIndexOf(':')) {
+            return value.substring(0, colon);
+        }
+        return value;
+    }
+
+    /** CIDR range check on parsed address bytes; an IPv4-mapped IPv6 address matches IPv4 ranges. */
+    private static final class Cidr {
+        private final byte[] network;
+        private final int prefixLength;
+
+        private Cidr(String cidr) {
+            int slash = cidr.indexOf('/');
+            String address = slash < 0 ? cidr : cidr.substring(0, slash);
+            this.network = IpLiterals.toBytes(address);
+            if (network == null) {
+                throw new IllegalArgumentException("Not an IP address: " + address);
+            }
+            this.prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length in " + cidr);
+            }
+        }
+
+        private boolean matches(byte[] candidate) {
+            if (candidate.length == 16 && network.length == 4 && isIpv4Mapped(candidate)) {
+                byte[] ipv4 = new byte[4];
+                System.arraycopy(candidate, 12, ipv4, 0, 4);
+                candidate = ipv4;
+            }
+            if (candidate.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (candidate[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (candidate[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+
+        private static boolean isIpv4Mapped(byte[] address) {
+            for (int i = 0; i < 10; i++) {
+                if (address[i] != 0) {
+                    return false;
+                }
+            }
+            return address[10] == (byte) 0xFF && address[11] == (byte) 0xFF;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.tkb.mykare.utils;
+
+import java.util.Arrays;
+
+/**
+ * Strict IPv4 / IPv6 literal parsing. Nothing here resolves names, so untrusted text such as a
+ * forwarded-for hop can be checked without a DNS lookup.
+ */
+public final class IpLiterals {
+
+    private IpLiterals() {}
+
+    /** The 4 or 16 address bytes of an IP literal, or null if the text is not one. */
+    public static byte[] toBytes(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        if (text.indexOf(':') >= 0) {
+            return parseIpv6(text);
+        }
+        long ipv4 = parseIpv4(text);
+        if (ipv4 < 0) {
+            return null;
+        }
+        return new byte[]{(byte) (ipv4 >>> 24), (byte) (ipv4 >>> 16), (byte) (ipv4 >>> 8), (byte) ipv4};
+    }
+
+    /** Parses dotted-quad IPv4 without allocating; returns -1 if the text is not an IPv4 address. */
+    public static long parseIpv4(String text) {
+        long result = 0;
+        int octet = -1;
+        int dots = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && dots < 3) {
+                result = (result << 8) | octet;
+                octet = -1;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || octet < 0) {
+            return -1;
+        }
+        return (result << 8) | octet;
+    }
+
+    /**
+     * Parses an IPv6 literal, including "::" compression and a dotted IPv4 tail
+     * (::ffff:1.2.3.4), into 16 bytes. Returns null for anything else, zone ids included; the
+     * text is never resolved through DNS.
+     */
+    public static byte[] parseIpv6(String text) {
+        int length = text.length();
+        if (length < 2 || length > 45) {
+            return null;
+        }
+        byte[] address = new byte[16];
+        int groups = 0;
+        int compressedAt = -1;
+        int i = 0;
+        if (text.startsWith("::")) {
+            compressedAt = 0;
+            i = 2;
+        } else if (text.charAt(0) == ':') {
+            return null;
+        }
+        while (i < length) {
+            int end = text.indexOf(':', i);
+            if (end < 0) {
+                end = length;
+            }
+            int dot = text.indexOf('.', i);
+            if (dot >= 0 && dot < end) {
+                // dotted IPv4 tail: must be the last part and fill the last two groups
+                long ipv4 = end == length && groups <= 6 ? parseIpv4(text.substring(i)) : -1;
+                if (ipv4 < 0) {
+                    return null;
+                }
+                for (int b = 0; b < 4; b++) {
+                    address[groups * 2 + b] = (byte) (ipv4 >>> (24 - 8 * b));
+                }
+                groups += 2;
+                break;
+            }
+            if (groups == 8 || end == i || end - i > 4) {
+                return null;
+            }
+            int value = 0;
+            for (int j = i; j < end; j++) {
+                int digit = Character.digit(text.charAt(j), 16);
+                if (digit < 0) {
+                    return null;
+                }
+                value = (value << 4) | digit;
+            }
+            address[groups * 2] = (byte) (value >>> 8);
+            address[groups * 2 + 1] = (byte) value;
+            groups++;
+            i = end;
+            if (i < length) {
+                if (i + 1 < length && text.charAt(i + 1) == ':') {
+                    if (compressedAt >= 0) {
+                        return null;
+                    }
+                    compressedAt = groups;
+                    i += 2;
+                } else if (++i == length) {
+                    return null;
+                }
+            }
+        }
+        if (compressedAt < 0) {
+            return groups == 8 ? address : null;
+        }
+        if (groups == 8) {
+            return null;
+        }
+        int tailBytes = (groups - compressedAt) * 2;
+        System.arraycopy(address, compressedAt * 2, address, 16 - tailBytes, tailBytes);
+        Arrays.fill(address, compressedAt * 2, 16 - tailBytes, (byte) 0);
+        return address;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tkb.mykare.utils;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Password hashing policy. The only encoder instance is the PasswordEncoder bean built from
+ * {@link #createDelegatingPasswordEncoder} in each application's SecurityConfig, at
+ * mykare.auth.password.bcrypt-strength, so both write and verify the same hash format.
+ */
+public class PasswordUtils {
+    public static final String DEFAULT_ENCODING_ID = "bcrypt";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^(?:\\{bcrypt\\})?\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    /**
+     * Encoder that writes {id}-prefixed hashes with BCrypt at the given cost and still verifies
+     * legacy hashes stored without a prefix (those are plain BCrypt).
+     */
+    public static PasswordEncoder createDelegatingPasswordEncoder(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(DEFAULT_ENCODING_ID, bcrypt);
+        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(DEFAULT_ENCODING_ID, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    /** BCrypt cost factor of an encoded password, or -1 if it is not a BCrypt hash. */
+    public static int bcryptCost(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
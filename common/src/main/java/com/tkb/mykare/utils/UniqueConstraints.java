@@ -0,0 +1,29 @@
+package com.tkb.mykare.utils;
+
+import java.util.Locale;
+
+/**
+ * Tells a duplicate key apart from other integrity violations by SQLState 23505 and the name of
+ * the violated constraint, never by the column name in the message, so a NOT NULL or length
+ * failure on the same column is not mistaken for a duplicate.
+ *
+ * Each application reads the SQLState and constraint name out of its own driver exception
+ * (JDBC in the servlet build, R2DBC in the reactive one) and passes them in here.
+ */
+public final class UniqueConstraints {
+
+    public static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    private UniqueConstraints() {}
+
+    /**
+     * @param constraintOrMessage the constraint name reported by the driver, or its error message
+     *                            when it reports none; H2 names the backing index
+     *                            UK_USERS_EMAIL_INDEX_n, PostgreSQL quotes the constraint name
+     */
+    public static boolean isViolationOf(String constraintName, String sqlState, String constraintOrMessage) {
+        return UNIQUE_VIOLATION_SQL_STATE.equals(sqlState)
+                && constraintOrMessage != null
+                && constraintOrMessage.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,108 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoLocationCacheTest {
+
+    private final GeoLocationCache locationCache = new GeoLocationCache(100, Duration.ofHours(1), Duration.ofMinutes(1),
+            new SimpleMeterRegistry());
+
+    @Test
+    void testGet_ConcurrentCallersShareOneLoad() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        List<IpLocationDto> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            callers.add(Thread.ofVirtual().start(() -> {
+                IpLocationDto location = locationCache.get("203.0.113.7", ip -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return location("India");
+                });
+                synchronized (results) {
+                    results.add(location);
+                }
+            }));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch(location -> "India".equals(location.getCountry())));
+    }
+
+    @Test
+    void testGet_FailedLoadIsNotCached() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> locationCache.get("203.0.113.7", ip -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("India", locationCache.get("203.0.113.7", ip -> location("India")).getCountry());
+    }
+
+    @Test
+    void testGet_BlockingLoaderDoesNotPinVirtualThread() throws Exception {
+        // Arrange
+        AtomicInteger pinned = new AtomicInteger();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(10));
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.incrementAndGet());
+            recording.startAsync();
+
+            // Act: a loader that blocks like a slow ip-api call
+            Thread caller = Thread.ofVirtual().start(() -> locationCache.get("198.51.100.1", ip -> {
+                sleep(100);
+                return location("Unknown");
+            }));
+            caller.join();
+            recording.stop();
+        }
+
+        // Assert
+        assertEquals(0, pinned.get());
+    }
+
+    private static IpLocationDto location(String country) {
+        IpLocationDto location = new IpLocationDto();
+        location.setCountry(country);
+        location.setStatus("success");
+        return location;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
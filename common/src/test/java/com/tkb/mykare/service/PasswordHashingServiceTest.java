@@ -0,0 +1,89 @@
+package com.tkb.mykare.service;
+
+import com.tkb.mykare.exception.HashingCapacityExceededException;
+import com.tkb.mykare.utils.PasswordUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (passwordHashingService != null) {
+            passwordHashingService.shutdown();
+        }
+    }
+
+    @Test
+    void testEncodeAndMatches_RunOnPoolAndAreTimed() {
+        // Arrange
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 4, Duration.ofSeconds(5), 10);
+        when(passwordEncoder.encode("password123")).thenReturn("encoded");
+        when(passwordEncoder.matches("password123", "encoded")).thenReturn(true);
+
+        // Act & Assert
+        assertEquals("encoded", passwordHashingService.encode("password123"));
+        assertTrue(passwordHashingService.matches("password123", "encoded"));
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testMatches_RejectsWhenPoolAndQueueAreFull() throws Exception {
+        // Arrange: one worker, one queue slot, both occupied by blocked hashes
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 1, Duration.ofSeconds(5), 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        callers.submit(() -> passwordHashingService.matches("a", "hash"));
+        started.await();
+        callers.submit(() -> passwordHashingService.matches("b", "hash"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(HashingCapacityExceededException.class, () -> passwordHashingService.matches("c", "hash"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void testNeedsRehash_DetectsOffPolicyHashes() {
+        // Arrange
+        PasswordEncoder delegating = PasswordUtils.createDelegatingPasswordEncoder(4);
+        passwordHashingService = new PasswordHashingService(delegating, meterRegistry, 1, 4, Duration.ofSeconds(5), 4);
+        String current = delegating.encode("password123");
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(5).encode("password123");
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+
+        // Act & Assert
+        assertTrue(current.startsWith("{bcrypt}$2a$04$"));
+        assertFalse(passwordHashingService.needsRehash(current));
+        assertTrue(passwordHashingService.needsRehash(stronger));
+        assertTrue(passwordHashingService.needsRehash(legacy));
+        assertTrue(delegating.matches("password123", legacy));
+    }
+}
\ No newline at end of file
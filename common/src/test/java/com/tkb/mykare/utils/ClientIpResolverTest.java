@@ -0,0 +1,63 @@
+package com.tkb.mykare.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(new String[]{"10.0.0.0/8", "::1/128"});
+
+    @Test
+    void testResolve_UntrustedPeerIgnoresHeaders() {
+        assertEquals("203.0.113.9", resolve("203.0.113.9", "X-Forwarded-For", "198.51.100.1"));
+    }
+
+    @Test
+    void testResolve_XForwardedForSkipsTrustedHops() {
+        assertEquals("203.0.113.9", resolve("10.0.0.5", "X-Forwarded-For", "198.51.100.1, 203.0.113.9, 10.1.2.3"));
+    }
+
+    @Test
+    void testResolve_ForwardedHeaderWithIpv6AndPort() {
+        assertEquals("2001:db8::17", resolve("::1", "Forwarded", "for=\"[2001:db8::17]:4711\";proto=https, for=10.0.0.7"));
+    }
+
+    @Test
+    void testResolve_UnknownHopStopsTheWalk() {
+        assertEquals("10.0.0.5", resolve("10.0.0.5", "X-Forwarded-For", "198.51.100.1, unknown"));
+    }
+
+    @Test
+    void testResolve_MalformedIpv6HopIsNotTrusted() {
+        assertEquals("10.0.0.5", resolve("10.0.0.5", "X-Forwarded-For", "198.51.100.1, 1:2:3"));
+    }
+
+    @Test
+    void testResolve_RepeatedXForwardedForHeaders() {
+        assertEquals("203.0.113.9", resolve("10.0.0.5", "X-Forwarded-For", "198.51.100.1, 203.0.113.9", "X-Forwarded-For", "10.1.2.3"));
+    }
+
+    @Test
+    void testResolve_RepeatedForwardedHeaders() {
+        assertEquals("198.51.100.1", resolve("10.0.0.5", "Forwarded", "for=198.51.100.1", "Forwarded", "for=10.0.0.7"));
+    }
+
+    @Test
+    void testResolve_Ipv4MappedPeerIsTrusted() {
+        assertEquals("198.51.100.1", resolve("::ffff:10.0.0.5", "X-Forwarded-For", "198.51.100.1"));
+    }
+
+    private String resolve(String remoteAddr, String... headerNamesAndValues) {
+        Map<String, List<String>> headers = new HashMap<>();
+        for (int i = 0; i < headerNamesAndValues.length; i += 2) {
+            headers.computeIfAbsent(headerNamesAndValues[i], name -> new ArrayList<>()).add(headerNamesAndValues[i + 1]);
+        }
+        return resolver.resolve(remoteAddr, name -> headers.getOrDefault(name, List.of()));
+    }
+}
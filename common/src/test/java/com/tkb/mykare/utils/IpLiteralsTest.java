@@ -0,0 +1,45 @@
+package com.tkb.mykare.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpLiteralsTest {
+
+    @Test
+    void testParseIpv4() {
+        assertEquals(0x01BA0C22L, IpLiterals.parseIpv4("1.186.12.34"));
+        assertEquals(-1, IpLiterals.parseIpv4("300.1.1.1"));
+        assertEquals(-1, IpLiterals.parseIpv4("1.2.3"));
+        assertEquals(-1, IpLiterals.parseIpv4("unknown"));
+        assertArrayEquals(bytes(10, 0, 0, 5), IpLiterals.toBytes("10.0.0.5"));
+    }
+
+    @Test
+    void testParseIpv6_LiteralsOnly() {
+        assertArrayEquals(bytes(0x20, 0x01, 0x0d, 0xb8, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0x01), IpLiterals.parseIpv6("2001:db8::1"));
+        assertArrayEquals(bytes(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0), IpLiterals.parseIpv6("::"));
+        assertArrayEquals(bytes(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0xff, 0xff, 1, 2, 3, 4), IpLiterals.parseIpv6("::ffff:1.2.3.4"));
+        assertArrayEquals(bytes(0, 1, 0, 2, 0, 3, 0, 4, 0, 5, 0, 6, 0, 7, 0, 8), IpLiterals.parseIpv6("1:2:3:4:5:6:7:8"));
+        assertArrayEquals(bytes(0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0), IpLiterals.parseIpv6("1::"));
+
+        // not literals: rejected without a DNS lookup
+        assertNull(IpLiterals.parseIpv6("foo:bar"));
+        assertNull(IpLiterals.parseIpv6("1:2:3"));
+        assertNull(IpLiterals.parseIpv6("1::2::3"));
+        assertNull(IpLiterals.parseIpv6("1:2:3:4:5:6:7:8:9"));
+        assertNull(IpLiterals.parseIpv6("12345::"));
+        assertNull(IpLiterals.parseIpv6("1:"));
+        assertNull(IpLiterals.parseIpv6(":1::"));
+        assertNull(IpLiterals.parseIpv6("::1.2.3"));
+        assertNull(IpLiterals.parseIpv6("fe80::1%eth0"));
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tkb.mykare.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueConstraintsTest {
+
+    @Test
+    void testIsViolationOf_MatchesConstraintNameFromEitherDatabase() {
+        assertTrue(UniqueConstraints.isViolationOf("uk_users_email", "23505", "PUBLIC.UK_USERS_EMAIL_INDEX_4"));
+        assertTrue(UniqueConstraints.isViolationOf("uk_users_email", "23505",
+                "duplicate key value violates unique constraint \"uk_users_email\""));
+    }
+
+    @Test
+    void testIsViolationOf_OtherStatesAndConstraintsAreNotDuplicates() {
+        // NOT NULL on the same column: the message mentions email, but the state is not 23505
+        assertFalse(UniqueConstraints.isViolationOf("uk_users_email", "23502", "NULL not allowed for column \"EMAIL\""));
+        assertFalse(UniqueConstraints.isViolationOf("uk_users_email", "23505",
+                "duplicate key value violates unique constraint \"users_pkey\""));
+        assertFalse(UniqueConstraints.isViolationOf("uk_users_email", "23505", null));
+        assertFalse(UniqueConstraints.isViolationOf("uk_users_email", null, "uk_users_email"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.tkb.mykare.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for ipify and ip-api, so a load test never depends on (or hammers) the real
+ * services. Every request waits for the configured latency and fails with a 503 at the
+ * configured rate. Requests are served on virtual threads, so latency never limits how many
+ * lookups can be in flight; the peak is reported so the application's own limits show up.
+ *
+ * Endpoints: GET /ipify (plain-text IP), GET /json/{ip} and POST /batch (ip-api formats).
+ */
+public class GeoStub implements AutoCloseable {
+
+    static final String SERVER_IP = "198.51.100.10";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration latency;
+    private final double errorRate;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public GeoStub(Duration latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        // Without TCP_NODELAY, Nagle plus delayed ACKs add ~40 ms to every keep-alive response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(executor);
+        server.createContext("/ipify", exchange -> handle(exchange, () -> SERVER_IP.getBytes(StandardCharsets.UTF_8), "text/plain"));
+        server.createContext("/json/", exchange -> handle(exchange, () -> {
+            String path = exchange.getRequestURI().getPath();
+            return objectMapper.writeValueAsBytes(location(path.substring(path.lastIndexOf('/') + 1)));
+        }, "application/json"));
+        server.createContext("/batch", exchange -> handle(exchange, () -> {
+            List<Map<String, String>> locations = new ArrayList<>();
+            try (InputStream body = exchange.getRequestBody()) {
+                for (String ip : objectMapper.readValue(body, String[].class)) {
+                    locations.add(location(ip));
+                }
+            }
+            return objectMapper.writeValueAsBytes(locations);
+        }, "application/json"));
+        server.start();
+    }
+
+    public String getIpifyUrl() {
+        return baseUrl() + "/ipify";
+    }
+
+    public String getIpApiUrl() {
+        return baseUrl() + "/json/{ip}";
+    }
+
+    public String getIpApiBatchUrl() {
+        return baseUrl() + "/batch";
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /** Clears the counters, e.g. once the warm-up phase is over. */
+    public void resetStats() {
+        requests.set(0);
+        injectedErrors.set(0);
+        peakInFlight.set(inFlight.get());
+    }
+
+    private void handle(HttpExchange exchange, Body body, String contentType) throws IOException {
+        requests.incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            sleep(latency);
+            byte[] response;
+            int status;
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                status = 503;
+                response = "injected failure".getBytes(StandardCharsets.UTF_8);
+                contentType = "text/plain";
+            } else {
+                status = 200;
+                response = body.get();
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> location(String ip) {
+        Map<String, String> location = new LinkedHashMap<>();
+        location.put("status", "success");
+        location.put("country", "Testland");
+        location.put("countryCode", "TL");
+        location.put("region", "TL-1");
+        location.put("city", "Loadville");
+        location.put("query", ip);
+        return location;
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        byte[] get() throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+package com.tkb.mykare.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and response status counts. Recording is lock-free, so the
+ * driver threads never wait on each other here.
+ */
+public class LatencyStats {
+
+    /** Status recorded for requests that never got a response (timeout, connection refused). */
+    public static final int NO_RESPONSE = -1;
+    /** Status recorded for requests not sent because --max-in-flight was reached. */
+    public static final int DROPPED = -2;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+
+    public LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationStats());
+        }
+    }
+
+    public void record(Operation operation, long latencyNanos, int status, boolean expected) {
+        OperationStats stats = operations.get(operation);
+        if (status != DROPPED) {
+            stats.recorder.recordValue(Math.max(latencyNanos, 0));
+        }
+        stats.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (!expected) {
+            stats.unexpected.increment();
+        }
+    }
+
+    /** Discards everything recorded so far, e.g. during warm-up. */
+    public void reset() {
+        operations.values().forEach(OperationStats::reset);
+    }
+
+    /**
+     * Summary of everything recorded since the last reset: count, throughput over the given
+     * window, status counts and latency percentiles in milliseconds, per operation.
+     */
+    public Map<String, Map<String, Object>> summarize(long windowNanos) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        double seconds = windowNanos / 1e9;
+        operations.forEach((operation, stats) -> {
+            Histogram histogram = stats.recorder.getIntervalHistogram();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            stats.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            long requests = statuses.values().stream().mapToLong(Long::longValue).sum();
+            if (requests == 0) {
+                return;
+            }
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", operation.getEndpoint());
+            entry.put("requests", requests);
+            entry.put("throughputPerSecond", round(requests / seconds));
+            entry.put("unexpected", stats.unexpected.sum());
+            entry.put("statuses", statuses);
+            Map<String, Double> latency = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                latency.put("p" + formatPercentile(percentile), millis(histogram.getValueAtPercentile(percentile)));
+            }
+            latency.put("max", millis(histogram.getMaxValue()));
+            latency.put("mean", millis((long) histogram.getMean()));
+            entry.put("latencyMillis", latency);
+            summary.put(operation.getKey(), entry);
+        });
+        return summary;
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class OperationStats {
+        private final Recorder recorder = new Recorder(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder unexpected = new LongAdder();
+
+        private void reset() {
+            recorder.reset();
+            statuses.clear();
+            unexpected.reset();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.tkb.mykare.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the user API at a fixed arrival rate and reports throughput and latency percentiles
+ * per endpoint.
+ *
+ * The driver is open-model: request i is due at start + i / rate whether or not earlier
+ * requests have finished, and its latency is measured from that due time. A slow server
+ * therefore shows up as growing latency instead of silently lowering the request rate
+ * (coordinated omission). Each request runs on its own virtual thread; if more than
+ * --max-in-flight are outstanding, new ones are counted as dropped instead of sent.
+ *
+ * Usage (from this directory, after building the application jar):
+ * mvn -q compile exec:java -Dexec.args="--rate=20 --duration=60s --stub-latency=100ms"
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        try (GeoStub geoStub = new GeoStub(config.getStubLatency(), config.getStubErrorRate())) {
+            if (!config.getBaseUrl().isEmpty()) {
+                System.out.printf("Using the application at %s. Start it with --mykare.geo.ipify-url=%s "
+                                + "--mykare.geo.ip-api-url=%s to route geo lookups to this run's stub.%n",
+                        config.getBaseUrl(), geoStub.getIpifyUrl(), geoStub.getIpApiUrl());
+                run(config, config.getBaseUrl(), geoStub);
+            } else {
+                System.out.println("Starting " + config.getAppJar() + " " + String.join(" ", config.getAppArgs()));
+                try (ApplicationProcess application = ApplicationProcess.start(config.getAppJar(), config.getAppArgs(), geoStub)) {
+                    run(config, application.getBaseUrl(), geoStub);
+                }
+            }
+        }
+    }
+
+    static void run(LoadTestConfig config, String baseUrl, GeoStub geoStub) throws IOException, InterruptedException {
+        UserApiClient client = new UserApiClient(config, baseUrl);
+        client.authenticateAdmin();
+
+        LatencyStats stats = new LatencyStats();
+        Operation[] mix = config.mixTable();
+        Semaphore inFlight = new Semaphore(config.getMaxInFlight());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRate());
+        long start = System.nanoTime();
+        long measureStart = start + config.getWarmup().toNanos();
+        long end = measureStart + config.getDuration().toNanos();
+        boolean warm = config.getWarmup().isZero();
+
+        System.out.printf("Running %.1f req/s for %s after %s warm-up against %s (geo stub: %s latency, %.1f%% errors)%n",
+                config.getRate(), config.getDuration(), config.getWarmup(), baseUrl,
+                config.getStubLatency(), config.getStubErrorRate() * 100);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * intervalNanos;
+                if (due >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!warm && due >= measureStart) {
+                    stats.reset();
+                    geoStub.resetStats();
+                    warm = true;
+                }
+
+                Operation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+                if (!inFlight.tryAcquire()) {
+                    stats.record(operation, 0, LatencyStats.DROPPED, false);
+                    continue;
+                }
+                executor.execute(() -> {
+                    int status = LatencyStats.NO_RESPONSE;
+                    boolean expected = false;
+                    try {
+                        UserApiClient.Result result = client.execute(operation);
+                        status = result.getStatus();
+                        expected = result.isExpected();
+                    } catch (IOException e) {
+                        // timed out or refused: recorded as NO_RESPONSE
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                        stats.record(operation, System.nanoTime() - due, status, expected);
+                    }
+                });
+            }
+            // closing the executor waits for the requests still in flight
+        }
+        long window = System.nanoTime() - measureStart;
+
+        Map<String, Map<String, Object>> operations = stats.summarize(window);
+        Map<String, Object> geo = new LinkedHashMap<>();
+        geo.put("requests", geoStub.getRequests());
+        geo.put("injectedErrors", geoStub.getInjectedErrors());
+        geo.put("peakConcurrency", geoStub.getPeakInFlight());
+
+        printReport(operations, geo);
+        writeReport(config, baseUrl, operations, geo);
+    }
+
+    private static void printReport(Map<String, Map<String, Object>> operations, Map<String, Object> geo) {
+        System.out.println();
+        System.out.printf("%-38s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "unexpected", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> operation : operations.values()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Double> latency = (Map<String, Double>) operation.get("latencyMillis");
+            System.out.printf(Locale.ROOT, "%-38s %8d %8.1f %10d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    operation.get("endpoint"), operation.get("requests"), operation.get("throughputPerSecond"),
+                    operation.get("unexpected"), latency.get("p50"), latency.get("p90"), latency.get("p99"),
+                    latency.get("p99.9"), latency.get("max"));
+        }
+        for (Map<String, Object> operation : operations.values()) {
+            System.out.println("  " + operation.get("endpoint") + " statuses: " + operation.get("statuses"));
+        }
+        System.out.println("Geo stub: " + geo);
+    }
+
+    private static void writeReport(LoadTestConfig config, String baseUrl, Map<String, Map<String, Object>> operations,
+                                    Map<String, Object> geo) throws IOException {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", baseUrl);
+        settings.put("appArgs", config.getAppArgs());
+        settings.put("rate", config.getRate());
+        settings.put("duration", config.getDuration().toString());
+        settings.put("warmup", config.getWarmup().toString());
+        settings.put("mix", config.getMix());
+        settings.put("stubLatency", config.getStubLatency().toString());
+        settings.put("stubErrorRate", config.getStubErrorRate());
+        settings.put("ipPoolSize", config.getIpPoolSize());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("operations", operations);
+        report.put("geoStub", geo);
+
+        if (config.getReport().getParent() != null) {
+            Files.createDirectories(config.getReport().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.getReport().toFile(), report);
+        System.out.println("Report written to " + config.getReport().toAbsolutePath());
+    }
+}
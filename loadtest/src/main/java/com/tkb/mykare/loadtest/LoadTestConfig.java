@@ -0,0 +1,192 @@
+package com.tkb.mykare.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings, read from --key=value arguments. Durations take an ms, s or m suffix.
+ */
+public class LoadTestConfig {
+
+    static final String DEFAULT_MIX = "register=30,register-duplicate=5,login=30,login-invalid=5,list=15,delete=15";
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("base-url", ""),
+            Map.entry("app-jar", "../app/target/mykare-0.0.1-SNAPSHOT.jar"),
+            Map.entry("app-args", ""),
+            Map.entry("rate", "20"),
+            Map.entry("duration", "60s"),
+            Map.entry("warmup", "10s"),
+            Map.entry("mix", DEFAULT_MIX),
+            Map.entry("max-in-flight", "2000"),
+            Map.entry("request-timeout", "30s"),
+            Map.entry("list-path", "/api/users?limit=100"),
+            Map.entry("ip-pool-size", "1000"),
+            Map.entry("admin-email", "admin@mykare.com"),
+            Map.entry("admin-password", "admin123"),
+            Map.entry("stub-latency", "100ms"),
+            Map.entry("stub-error-rate", "0"),
+            Map.entry("report", "target/loadtest-report.json"));
+
+    private String baseUrl;
+    private Path appJar;
+    private List<String> appArgs;
+    private double rate;
+    private Duration duration;
+    private Duration warmup;
+    private Map<Operation, Integer> mix;
+    private int maxInFlight;
+    private Duration requestTimeout;
+    private String listPath;
+    private int ipPoolSize;
+    private String adminEmail;
+    private String adminPassword;
+    private Duration stubLatency;
+    private double stubErrorRate;
+    private Path report;
+
+    public static LoadTestConfig parse(String... args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got '" + arg + "'");
+            }
+            String key = arg.substring(2, separator);
+            if (!DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown option --" + key + "; known options: " + DEFAULTS.keySet());
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig();
+        config.baseUrl = stripTrailingSlash(values.get("base-url"));
+        config.appJar = Path.of(values.get("app-jar"));
+        config.appArgs = values.get("app-args").isBlank() ? List.of() : List.of(values.get("app-args").trim().split("\\s+"));
+        config.rate = Double.parseDouble(values.get("rate"));
+        config.duration = parseDuration(values.get("duration"));
+        config.warmup = parseDuration(values.get("warmup"));
+        config.mix = parseMix(values.get("mix"));
+        config.maxInFlight = Integer.parseInt(values.get("max-in-flight"));
+        config.requestTimeout = parseDuration(values.get("request-timeout"));
+        config.listPath = values.get("list-path");
+        config.ipPoolSize = Integer.parseInt(values.get("ip-pool-size"));
+        config.adminEmail = values.get("admin-email");
+        config.adminPassword = values.get("admin-password");
+        config.stubLatency = parseDuration(values.get("stub-latency"));
+        config.stubErrorRate = Double.parseDouble(values.get("stub-error-rate"));
+        config.report = Path.of(values.get("report"));
+
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (config.stubErrorRate < 0 || config.stubErrorRate > 1) {
+            throw new IllegalArgumentException("--stub-error-rate must be between 0 and 1");
+        }
+        if (config.ipPoolSize < 1 || config.ipPoolSize > 131072) {
+            throw new IllegalArgumentException("--ip-pool-size must be between 1 and 131072");
+        }
+        return config;
+    }
+
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (text.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+            } else if (text.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+            } else if (text.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+            } else if (text.equals("0")) {
+                return Duration.ZERO;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid duration '" + value + "', expected e.g. 250ms, 30s or 5m");
+    }
+
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight for " + parts[0] + " must not be negative");
+            }
+            if (weight > 0) {
+                mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        return Collections.unmodifiableMap(mix);
+    }
+
+    /**
+     * The mix expanded into a lookup table with one slot per unit of weight, so picking an
+     * operation is a single random index.
+     */
+    Operation[] mixTable() {
+        List<Operation> table = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        return table.toArray(new Operation[0]);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    // Getters
+
+    public String getBaseUrl() { return baseUrl; }
+
+    public Path getAppJar() { return appJar; }
+
+    public List<String> getAppArgs() { return appArgs; }
+
+    public double getRate() { return rate; }
+
+    public Duration getDuration() { return duration; }
+
+    public Duration getWarmup() { return warmup; }
+
+    public Map<Operation, Integer> getMix() { return mix; }
+
+    public int getMaxInFlight() { return maxInFlight; }
+
+    public Duration getRequestTimeout() { return requestTimeout; }
+
+    public String getListPath() { return listPath; }
+
+    public int getIpPoolSize() { return ipPoolSize; }
+
+    public String getAdminEmail() { return adminEmail; }
+
+    public String getAdminPassword() { return adminPassword; }
+
+    public Duration getStubLatency() { return stubLatency; }
+
+    public double getStubErrorRate() { return stubErrorRate; }
+
+    public Path getReport() { return report; }
+}
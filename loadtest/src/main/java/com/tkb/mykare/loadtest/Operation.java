@@ -0,0 +1,39 @@
+package com.tkb.mykare.loadtest;
+
+/**
+ * The request types of the load mix, one per scenario in features/user_management.feature.
+ */
+public enum Operation {
+    REGISTER("register", "POST /api/users/register"),
+    REGISTER_DUPLICATE("register-duplicate", "POST /api/users/register (existing)"),
+    LOGIN("login", "POST /api/users/login"),
+    LOGIN_INVALID("login-invalid", "POST /api/users/login (bad password)"),
+    LIST("list", "GET /api/users"),
+    DELETE("delete", "DELETE /api/users/{email}");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    /** Name used in --mix and in the report. */
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+}
@@ -0,0 +1,169 @@
+package com.tkb.mykare.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends one request per {@link Operation} and reports the status it got and the status the
+ * feature file expects for it.
+ *
+ * Users registered during the run are remembered: logins use the most recent ones and deletes
+ * remove the oldest, so both hit real rows; with none left a delete targets an unknown email
+ * and expects 404, as in the feature file. Registrations carry an X-Forwarded-For address from
+ * a fixed pool, so --ip-pool-size controls the application's geo cache hit rate.
+ */
+public class UserApiClient {
+
+    private static final String PASSWORD = "password123";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong userCounter = new AtomicLong();
+    private final ConcurrentLinkedDeque<String> registeredEmails = new ConcurrentLinkedDeque<>();
+
+    private volatile String adminToken;
+    private volatile long adminTokenRefreshAt;
+
+    public UserApiClient(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public Result execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case REGISTER -> register();
+            case REGISTER_DUPLICATE -> expect(409, registerRequest(config.getAdminEmail()));
+            case LOGIN -> {
+                String email = registeredEmails.peekLast();
+                yield email != null
+                        ? expect(200, loginRequest(email, PASSWORD))
+                        : expect(200, loginRequest(config.getAdminEmail(), config.getAdminPassword()));
+            }
+            case LOGIN_INVALID -> expect(401, loginRequest(config.getAdminEmail(), "wrong-" + PASSWORD));
+            case LIST -> expect(200, authorized(HttpRequest.newBuilder(uri(config.getListPath())).GET()));
+            case DELETE -> {
+                String email = registeredEmails.pollFirst();
+                yield email != null
+                        ? expect(200, deleteRequest(email))
+                        : expect(404, deleteRequest("nonexistent-" + runId + "@load.test"));
+            }
+        };
+    }
+
+    /** Logs the admin in once up front, failing fast if the credentials are wrong. */
+    public void authenticateAdmin() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(loginRequest(config.getAdminEmail(), config.getAdminPassword()));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed with " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        adminToken = body.path("accessToken").asText();
+        long lifetimeMillis = body.path("expiresIn").asLong(60) * 1000;
+        // renew well before expiry so in-flight requests never carry an expired token
+        adminTokenRefreshAt = System.currentTimeMillis() + lifetimeMillis / 2;
+    }
+
+    private Result register() throws IOException, InterruptedException {
+        String email = "lt-" + runId + "-" + userCounter.incrementAndGet() + "@load.test";
+        Result result = expect(201, registerRequest(email));
+        if (result.getStatus() == 201) {
+            registeredEmails.addLast(email);
+        }
+        return result;
+    }
+
+    private HttpRequest.Builder registerRequest(String email) throws IOException {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("name", "Load Test User");
+        body.put("email", email);
+        body.put("gender", "OTHER");
+        body.put("password", PASSWORD);
+        return HttpRequest.newBuilder(uri("/api/users/register"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", clientIp())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder loginRequest(String email, String password) throws IOException {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("email", email);
+        body.put("password", password);
+        return HttpRequest.newBuilder(uri("/api/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder deleteRequest(String email) throws IOException, InterruptedException {
+        return authorized(HttpRequest.newBuilder(uri("/api/users/" + URLEncoder.encode(email, StandardCharsets.UTF_8))).DELETE());
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) throws IOException, InterruptedException {
+        if (System.currentTimeMillis() >= adminTokenRefreshAt) {
+            synchronized (this) {
+                if (System.currentTimeMillis() >= adminTokenRefreshAt) {
+                    authenticateAdmin();
+                }
+            }
+        }
+        return request.header("Authorization", "Bearer " + adminToken);
+    }
+
+    /** An address from 198.18.0.0/15, the range reserved for benchmark traffic (RFC 2544). */
+    private String clientIp() {
+        int index = ThreadLocalRandom.current().nextInt(config.getIpPoolSize());
+        return "198." + (18 + (index >>> 16)) + "." + (index >>> 8 & 255) + "." + (index & 255);
+    }
+
+    private Result expect(int expectedStatus, HttpRequest.Builder request) throws IOException, InterruptedException {
+        int status = send(request).statusCode();
+        return new Result(status, status == expectedStatus);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(config.getRequestTimeout()).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public static final class Result {
+        private final int status;
+        private final boolean expected;
+
+        Result(int status, boolean expected) {
+            this.status = status;
+            this.expected = expected;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /** Whether the status is the one the feature file expects for this request. */
+        public boolean isExpected() {
+            return expected;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
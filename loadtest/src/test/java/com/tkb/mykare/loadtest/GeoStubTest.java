@@ -0,0 +1,55 @@
+package com.tkb.mykare.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoStubTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testLookups_AnswerInIpApiFormatAfterLatency() throws Exception {
+        try (GeoStub stub = new GeoStub(Duration.ofMillis(50), 0)) {
+            // Act
+            long start = System.nanoTime();
+            HttpResponse<String> location = get(stub.getIpApiUrl().replace("{ip}", "198.18.0.1"));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            HttpResponse<String> ip = get(stub.getIpifyUrl());
+            HttpResponse<String> batch = client.send(HttpRequest.newBuilder(URI.create(stub.getIpApiBatchUrl()))
+                    .POST(HttpRequest.BodyPublishers.ofString("[\"198.18.0.2\",\"198.18.0.3\"]"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            // Assert
+            assertEquals(200, location.statusCode());
+            assertTrue(location.body().contains("\"status\":\"success\""));
+            assertTrue(location.body().contains("\"query\":\"198.18.0.1\""));
+            assertTrue(elapsedMillis >= 50);
+            assertEquals(GeoStub.SERVER_IP, ip.body());
+            assertTrue(batch.body().contains("198.18.0.2") && batch.body().contains("198.18.0.3"));
+            assertEquals(3, stub.getRequests());
+        }
+    }
+
+    @Test
+    void testLookups_FailAtConfiguredErrorRate() throws Exception {
+        try (GeoStub stub = new GeoStub(Duration.ZERO, 1.0)) {
+            // Act
+            HttpResponse<String> response = get(stub.getIpApiUrl().replace("{ip}", "198.18.0.1"));
+
+            // Assert
+            assertEquals(503, response.statusCode());
+            assertEquals(1, stub.getInjectedErrors());
+        }
+    }
+
+    private HttpResponse<String> get(String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,57 @@
+package com.tkb.mykare.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestConfigTest {
+
+    @Test
+    void testParse_Defaults() {
+        // Act
+        LoadTestConfig config = LoadTestConfig.parse();
+
+        // Assert
+        assertEquals("", config.getBaseUrl());
+        assertEquals(20.0, config.getRate());
+        assertEquals(Duration.ofSeconds(60), config.getDuration());
+        assertEquals(Duration.ofMillis(100), config.getStubLatency());
+        assertEquals(6, config.getMix().size());
+        assertEquals(100, config.mixTable().length);
+    }
+
+    @Test
+    void testParse_Overrides() {
+        // Act
+        LoadTestConfig config = LoadTestConfig.parse("--base-url=http://localhost:8080/", "--rate=50.5",
+                "--duration=2m", "--stub-latency=0", "--stub-error-rate=0.25", "--mix=register=3,list=1,delete=0",
+                "--app-args=--spring.threads.virtual.enabled=true  --mykare.geo.batch.enabled=true");
+
+        // Assert
+        assertEquals("http://localhost:8080", config.getBaseUrl());
+        assertEquals(50.5, config.getRate());
+        assertEquals(Duration.ofMinutes(2), config.getDuration());
+        assertEquals(Duration.ZERO, config.getStubLatency());
+        assertEquals(0.25, config.getStubErrorRate());
+        assertEquals(List.of("--spring.threads.virtual.enabled=true", "--mykare.geo.batch.enabled=true"), config.getAppArgs());
+        assertFalse(config.getMix().containsKey(Operation.DELETE));
+        Operation[] table = config.mixTable();
+        assertEquals(3, Arrays.stream(table).filter(operation -> operation == Operation.REGISTER).count());
+        assertEquals(1, Arrays.stream(table).filter(operation -> operation == Operation.LIST).count());
+    }
+
+    @Test
+    void testParse_RejectsInvalidOptions() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--unknown=1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("rate=1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--duration=10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--mix=upload=1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--mix=list=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--stub-error-rate=1.5"));
+    }
+}
@@ -0,0 +1,14 @@
+package com.tkb.mykare.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+// Also scans com.tkb.mykare for the beans shared with the servlet application (mykare-common)
+@SpringBootApplication(scanBasePackages = "com.tkb.mykare")
+public class ReactiveMykareApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveMykareApplication.class, args);
+	}
+
+}
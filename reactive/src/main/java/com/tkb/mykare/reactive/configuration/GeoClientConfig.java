@@ -0,0 +1,70 @@
+package com.tkb.mykare.reactive.configuration;
+
+import com.tkb.mykare.utils.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Outbound HTTP client used by IpLocationService: a Reactor Netty connection pool with bounded
+ * connect/read timeouts and a bounded number of requests waiting for a connection, plus the
+ * circuit breaker guarding the geolocation provider. A waiting request holds no thread.
+ */
+@Configuration
+public class GeoClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider geoConnectionProvider(@Value("${mykare.geo.http.connect-timeout:2s}") Duration connectTimeout,
+                                                    @Value("${mykare.geo.http.max-connections:50}") int maxConnections,
+                                                    @Value("${mykare.geo.http.max-pending:10000}") int maxPending) {
+        return ConnectionProvider.builder("geo")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(connectTimeout)
+                .maxLifeTime(Duration.ofMinutes(5))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Built from the auto-configured builder so outbound calls are recorded as
+     * http.client.requests timers (by uri and status).
+     */
+    @Bean
+    public WebClient geoWebClient(WebClient.Builder builder,
+                                  ConnectionProvider geoConnectionProvider,
+                                  @Value("${mykare.geo.http.connect-timeout:2s}") Duration connectTimeout,
+                                  @Value("${mykare.geo.http.read-timeout:3s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(geoConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean
+    public CircuitBreaker geoCircuitBreaker(@Value("${mykare.geo.http.circuit-breaker.window-size:20}") int windowSize,
+                                            @Value("${mykare.geo.http.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                            @Value("${mykare.geo.http.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                            @Value("${mykare.geo.http.circuit-breaker.open-duration:30s}") Duration openDuration,
+                                            MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("ip-api", windowSize, minimumCalls, failureRateThreshold, openDuration);
+
+        Gauge.builder("geo.circuitbreaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+}
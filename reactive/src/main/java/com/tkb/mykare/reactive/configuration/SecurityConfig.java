@@ -0,0 +1,78 @@
+package com.tkb.mykare.reactive.configuration;
+
+import com.tkb.mykare.service.PasswordHashingService;
+import com.tkb.mykare.utils.PasswordUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class SecurityConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${mykare.auth.password.bcrypt-strength:10}") int bcryptStrength) {
+        return PasswordUtils.createDelegatingPasswordEncoder(bcryptStrength);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager authenticationManager) {
+        http
+                .csrf(csrf -> csrf.disable())
+                // Stateless, as in the servlet application: no session, credentials on every request
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/users/register", "/api/users/login").permitAll()
+                        .pathMatchers("/actuator/health").permitAll()
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/api/users").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .authenticationManager(authenticationManager)
+                .httpBasic(httpBasic -> {});
+
+        return http.build();
+    }
+
+    /**
+     * Basic-auth passwords are checked on the hashing pool rather than the default
+     * bounded-elastic one, so admin traffic and logins share one CPU-sized BCrypt budget.
+     */
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager(MapReactiveUserDetailsService userDetailsService,
+                                                               PasswordEncoder passwordEncoder,
+                                                               PasswordHashingService passwordHashingService) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(Schedulers.fromExecutor(passwordHashingService.getExecutor()));
+        return authenticationManager;
+    }
+
+    @Bean
+    public MapReactiveUserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+        UserDetails admin = User.builder()
+                .username("admin@mykare.com")
+                .password(passwordEncoder.encode("admin123"))
+                .roles("ADMIN")
+                .build();
+
+        return new MapReactiveUserDetailsService(admin);
+    }
+}
@@ -0,0 +1,112 @@
+package com.tkb.mykare.reactive.controller;
+
+import com.tkb.mykare.dto.UserLoginDto;
+import com.tkb.mykare.dto.UserRegistrationDto;
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.reactive.service.UserService;
+import com.tkb.mykare.utils.ClientIpResolver;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<UserResponseDto>> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto,
+                                                              ServerHttpRequest request) {
+        logger.debug("Registration attempt for user: {}", registrationDto.getEmail());
+        return userService.registerUser(registrationDto, clientIpResolver.resolve(remoteAddr(request), request.getHeaders()::getOrEmpty))
+                .map(user -> ResponseEntity.status(HttpStatus.CREATED).body(user));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<Map<String, Object>>> loginUser(@Valid @RequestBody UserLoginDto loginDto) {
+        logger.debug("Login attempt for user: {}", loginDto.getEmail());
+
+        return userService.validateUser(loginDto.getEmail(), loginDto.getPassword())
+                .map(isValid -> {
+                    Map<String, Object> response = new HashMap<>();
+                    if (isValid) {
+                        response.put("message", "Login successful");
+                        response.put("email", loginDto.getEmail());
+                        return ResponseEntity.ok(response);
+                    }
+                    response.put("message", "Invalid credentials");
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                });
+    }
+
+    /**
+     * Without paging parameters every user is streamed straight from the R2DBC cursor, as a
+     * JSON array or, with {@code Accept: application/x-ndjson}, one object per line. Rows are
+     * requested from the database only as fast as the client reads them.
+     *
+     * With limit (and after, the X-Next-Cursor of the previous page) one keyset page is returned.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Flux<UserResponseDto>>> getAllUsers(@RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            logger.debug("Fetching all users");
+            return Mono.just(ResponseEntity.ok(userService.getAllUsers()));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+        return userService.getUsersAfter(after != null ? after : 0L, pageSize)
+                .collectList()
+                .map(users -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (users.size() == pageSize) {
+                        response.header("X-Next-Cursor", String.valueOf(users.get(users.size() - 1).getId()));
+                    }
+                    return response.body(Flux.fromIterable(users));
+                });
+    }
+
+    @DeleteMapping("/{email}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Map<String, String>>> deleteUser(@PathVariable String email) {
+        return userService.deleteUserByEmail(email)
+                .map(deleted -> {
+                    Map<String, String> response = new HashMap<>();
+                    if (deleted) {
+                        response.put("message", "User deleted successfully");
+                        return ResponseEntity.ok(response);
+                    }
+                    response.put("message", "User not found");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                });
+    }
+
+    private static String remoteAddr(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress() : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.tkb.mykare.reactive.repository;
+
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.reactive.entity.User;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+    Mono<User> findByEmail(String email);
+
+    // Single DELETE statement; emits the number of rows removed (0 or 1)
+    @Modifying
+    @Query("DELETE FROM users WHERE email = :email")
+    Mono<Integer> deleteByEmail(String email);
+
+    // Rows are emitted as the driver reads them, so a slow subscriber throttles the fetch
+    @Query("SELECT id, name, email, gender, ip_address, country, role, created_at FROM users ORDER BY id")
+    Flux<UserResponseDto> findAllSummaries();
+
+    // Keyset page: rows strictly after the given id, in id order
+    @Query("SELECT id, name, email, gender, ip_address, country, role, created_at FROM users "
+            + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<UserResponseDto> findSummariesAfter(Long afterId, int limit);
+}
@@ -0,0 +1,126 @@
+package com.tkb.mykare.reactive.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.service.GeoLocationCache;
+import com.tkb.mykare.utils.CircuitBreaker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking ipify / ip-api client. Lookups never fail: provider errors, timeouts and an
+ * open circuit all complete with an "Unknown" location, as in the servlet application.
+ */
+@Service
+public class IpLocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpLocationService.class);
+
+    @Autowired
+    @Qualifier("geoWebClient")
+    private WebClient webClient;
+
+    @Autowired
+    private GeoLocationCache locationCache;
+
+    @Autowired
+    private CircuitBreaker geoCircuitBreaker;
+
+    @Value("${mykare.geo.ipify-url:https://api.ipify.org?format=text}")
+    private String ipifyUrl = "https://api.ipify.org?format=text";
+
+    @Value("${mykare.geo.ip-api-url:http://ip-api.com/json/{ip}}")
+    private String ipApiUrl = "http://ip-api.com/json/{ip}";
+
+    @Value("${mykare.geo.server-ip-retry-interval:1m}")
+    private Duration serverIpRetryInterval = Duration.ofMinutes(1);
+
+    private volatile String serverIpAddress;
+    private Disposable serverIpResolution;
+
+    /**
+     * Looks up the server's public IP once the application is up and keeps retrying in the
+     * background until ipify answers. Requests never wait for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startServerIpResolution() {
+        serverIpResolution = resolveServerIpAddress()
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, serverIpRetryInterval)
+                        .doBeforeRetry(signal -> logger.error("Error fetching IP address, retrying in {}: {}",
+                                serverIpRetryInterval, signal.failure().getMessage())))
+                .subscribe(ip -> {
+                    serverIpAddress = ip;
+                    logger.info("Retrieved IP address: {}", ip);
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (serverIpResolution != null) {
+            serverIpResolution.dispose();
+        }
+    }
+
+    /** Public IP of this server as seen by ipify, or "Unknown" until the background lookup succeeds. */
+    public Mono<String> getCurrentIpAddress() {
+        String resolved = serverIpAddress;
+        return Mono.just(resolved != null ? resolved : "Unknown");
+    }
+
+    Mono<String> resolveServerIpAddress() {
+        return webClient.get().uri(ipifyUrl)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(String::trim)
+                .filter(ip -> !ip.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("ipify returned no IP address")));
+    }
+
+    public Mono<IpLocationDto> getLocationByIp(String ipAddress) {
+        return Mono.fromFuture(() -> locationCache.getAsync(ipAddress, ip -> fetchLocation(ip).toFuture()));
+    }
+
+    private Mono<IpLocationDto> fetchLocation(String ipAddress) {
+        if (!geoCircuitBreaker.tryAcquire()) {
+            logger.debug("Circuit breaker open, skipping location lookup for IP {}", ipAddress);
+            return Mono.just(createDefaultLocation(ipAddress));
+        }
+        return webClient.get().uri(ipApiUrl, ipAddress)
+                .retrieve()
+                .bodyToMono(IpLocationDto.class)
+                // every outcome is recorded, so a half-open trial always releases its slot:
+                // an empty body counts as an answer, a cancelled call as a failure
+                .doOnSuccess(location -> geoCircuitBreaker.recordSuccess())
+                .doOnCancel(geoCircuitBreaker::recordFailure)
+                .filter(location -> "success".equals(location.getStatus()))
+                .doOnNext(location -> logger.debug("Retrieved location for IP {}: {}", ipAddress, location.getCountry()))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("Failed to get location for IP: {}", ipAddress);
+                    return createDefaultLocation(ipAddress);
+                }))
+                .onErrorResume(e -> {
+                    geoCircuitBreaker.recordFailure();
+                    logger.error("Error fetching location for IP {}: {}", ipAddress, e.getMessage());
+                    return Mono.just(createDefaultLocation(ipAddress));
+                });
+    }
+
+    protected IpLocationDto createDefaultLocation(String ipAddress) {
+        IpLocationDto location = new IpLocationDto();
+        location.setIp(ipAddress);
+        location.setCountry("Unknown");
+        return location;
+    }
+}
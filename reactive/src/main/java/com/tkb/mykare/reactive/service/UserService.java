@@ -0,0 +1,162 @@
+package com.tkb.mykare.reactive.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.dto.UserRegistrationDto;
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.exception.HashingCapacityExceededException;
+import com.tkb.mykare.exception.UserAlreadyExistsException;
+import com.tkb.mykare.reactive.entity.User;
+import com.tkb.mykare.reactive.repository.UserRepository;
+import com.tkb.mykare.service.PasswordHashingService;
+import com.tkb.mykare.utils.UniqueConstraints;
+import io.r2dbc.spi.R2dbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of the servlet UserService. Nothing here blocks: queries go through
+ * R2DBC, geo lookups through WebClient, and BCrypt runs on the hashing pool, so a request
+ * waiting on any of them holds no thread.
+ */
+@Service
+public class UserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private IpLocationService ipLocationService;
+
+    /**
+     * Registers a user whose location is derived from the given client IP.
+     * A null clientIp falls back to the server's own public IP.
+     *
+     * Hashing and the geo lookup are independent, so they run concurrently. There is no existence
+     * check up front: the email unique constraint alone decides duplicates, so the common case
+     * costs one insert.
+     */
+    public Mono<UserResponseDto> registerUser(UserRegistrationDto registrationDto, String clientIp) {
+        logger.debug("Attempting to register user with email: {}", registrationDto.getEmail());
+
+        Mono<String> ipAddress = clientIp != null ? Mono.just(clientIp) : ipLocationService.getCurrentIpAddress();
+
+        return Mono.zip(Mono.fromFuture(() -> passwordHashingService.encodeAsync(registrationDto.getPassword())),
+                        ipAddress.flatMap(ip -> ipLocationService.getLocationByIp(ip)
+                                .map(location -> withIp(location, ip))))
+                .flatMap(hashAndLocation -> {
+                    User user = new User();
+                    user.setName(registrationDto.getName());
+                    user.setEmail(registrationDto.getEmail());
+                    user.setGender(registrationDto.getGender());
+                    user.setPassword(hashAndLocation.getT1());
+                    user.setRole(Role.USER);
+                    user.setIpAddress(hashAndLocation.getT2().getIp());
+                    user.setCountry(hashAndLocation.getT2().getCountry());
+                    user.setCreatedAt(LocalDateTime.now());
+                    user.setUpdatedAt(user.getCreatedAt());
+                    return userRepository.save(user);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> isEmailConstraintViolation(e)
+                        ? alreadyExists(registrationDto.getEmail()) : e)
+                .doOnNext(savedUser -> logger.info("User registered successfully with ID: {}", savedUser.getId()))
+                .map(UserResponseDto::new);
+    }
+
+    private static IpLocationDto withIp(IpLocationDto location, String ipAddress) {
+        IpLocationDto result = new IpLocationDto();
+        result.setIp(ipAddress);
+        result.setCountry(location.getCountry());
+        return result;
+    }
+
+    private static UserAlreadyExistsException alreadyExists(String email) {
+        return new UserAlreadyExistsException("User with email " + email + " already exists");
+    }
+
+    /**
+     * True only for a unique violation (SQLState 23505) of {@link User#EMAIL_UNIQUE_CONSTRAINT}.
+     * R2DBC drivers report no constraint name, but both name it in the message.
+     */
+    static boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException r2dbc) {
+                return UniqueConstraints.isViolationOf(User.EMAIL_UNIQUE_CONSTRAINT, r2dbc.getSqlState(), r2dbc.getMessage());
+            }
+        }
+        return false;
+    }
+
+    public Mono<Boolean> validateUser(String email, String password) {
+        logger.debug("Validating user with email: {}", email);
+
+        return userRepository.findByEmail(email)
+                .flatMap(user -> Mono.fromFuture(() -> passwordHashingService.matchesAsync(password, user.getPassword()))
+                        .flatMap(isValid -> {
+                            logger.debug("User validation result for {}: {}", email, isValid);
+                            return isValid ? rehashIfNeeded(user, password).thenReturn(true) : Mono.just(false);
+                        }))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.debug("User not found with email: {}", email);
+                    return false;
+                }));
+    }
+
+    /**
+     * Re-encodes a verified password whose stored hash is off-policy. If the hashing pool
+     * is saturated the upgrade simply waits for a later login.
+     */
+    private Mono<Void> rehashIfNeeded(User user, String password) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return Mono.empty();
+        }
+        return Mono.fromFuture(() -> passwordHashingService.encodeAsync(password))
+                .flatMap(encoded -> {
+                    user.setPassword(encoded);
+                    user.setUpdatedAt(LocalDateTime.now());
+                    return userRepository.save(user);
+                })
+                .doOnNext(saved -> logger.info("Upgraded password hash for user ID: {}", saved.getId()))
+                .onErrorResume(HashingCapacityExceededException.class, e -> {
+                    logger.debug("Skipping password rehash for user ID {}: {}", user.getId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    public Flux<UserResponseDto> getAllUsers() {
+        logger.debug("Fetching all users");
+        return userRepository.findAllSummaries();
+    }
+
+    public Flux<UserResponseDto> getUsersAfter(Long afterId, int limit) {
+        logger.debug("Fetching up to {} users after ID {}", limit, afterId);
+        return userRepository.findSummariesAfter(afterId, limit);
+    }
+
+    public Mono<Boolean> deleteUserByEmail(String email) {
+        logger.debug("Attempting to delete user with email: {}", email);
+
+        return userRepository.deleteByEmail(email)
+                .map(deleted -> {
+                    if (deleted > 0) {
+                        logger.info("User deleted successfully: {}", email);
+                        return true;
+                    }
+                    logger.warn("User not found for deletion: {}", email);
+                    return false;
+                });
+    }
+}
@@ -0,0 +1,102 @@
+package com.tkb.mykare.reactive.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.service.GeoLocationCache;
+import com.tkb.mykare.utils.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IpLocationServiceTest {
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private GeoLocationCache locationCache;
+
+    @Mock
+    private CircuitBreaker geoCircuitBreaker;
+
+    @InjectMocks
+    private IpLocationService ipLocationService;
+
+    @Test
+    void testGetCurrentIpAddress_NotResolvedYetIsUnknownWithoutCallingIpify() {
+        // Act & Assert
+        StepVerifier.create(ipLocationService.getCurrentIpAddress())
+                .expectNext("Unknown")
+                .verifyComplete();
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    void testGetCurrentIpAddress_ReturnsResolvedIp() {
+        // Arrange
+        ReflectionTestUtils.setField(ipLocationService, "serverIpAddress", "203.0.113.7");
+
+        // Act & Assert
+        StepVerifier.create(ipLocationService.getCurrentIpAddress())
+                .expectNext("203.0.113.7")
+                .verifyComplete();
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    void testFetchLocation_EmptyBodyClosesHalfOpenCircuit() {
+        // Arrange
+        CircuitBreaker breaker = halfOpenBreaker();
+        useProvider(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        // Act
+        Mono<IpLocationDto> lookup = ReflectionTestUtils.invokeMethod(ipLocationService, "fetchLocation", "8.8.8.8");
+
+        // Assert
+        StepVerifier.create(lookup)
+                .assertNext(location -> assertEquals("Unknown", location.getCountry()))
+                .verifyComplete();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testFetchLocation_CancelledTrialReopensCircuit() {
+        // Arrange
+        CircuitBreaker breaker = halfOpenBreaker();
+        useProvider(Mono.never());
+        Mono<IpLocationDto> lookup = ReflectionTestUtils.invokeMethod(ipLocationService, "fetchLocation", "8.8.8.8");
+
+        // Act
+        Disposable subscription = lookup.subscribe();
+        subscription.dispose();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private CircuitBreaker halfOpenBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("ip-api", 2, 1, 0.5, Duration.ZERO);
+        breaker.recordFailure();
+        ReflectionTestUtils.setField(ipLocationService, "geoCircuitBreaker", breaker);
+        return breaker;
+    }
+
+    private void useProvider(Mono<ClientResponse> response) {
+        WebClient provider = WebClient.builder().exchangeFunction(request -> response).build();
+        ReflectionTestUtils.setField(ipLocationService, "webClient", provider);
+    }
+}
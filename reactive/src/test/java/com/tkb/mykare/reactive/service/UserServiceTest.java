@@ -0,0 +1,193 @@
+package com.tkb.mykare.reactive.service;
+
+import com.tkb.mykare.dto.IpLocationDto;
+import com.tkb.mykare.dto.UserRegistrationDto;
+import com.tkb.mykare.dto.UserResponseDto;
+import com.tkb.mykare.entity.Gender;
+import com.tkb.mykare.entity.Role;
+import com.tkb.mykare.exception.UserAlreadyExistsException;
+import com.tkb.mykare.reactive.entity.User;
+import com.tkb.mykare.reactive.repository.UserRepository;
+import com.tkb.mykare.service.PasswordHashingService;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private IpLocationService ipLocationService;
+
+    @InjectMocks
+    private UserService userService;
+
+    private UserRegistrationDto registrationDto;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        registrationDto = new UserRegistrationDto("John Doe", "john@example.com", Gender.MALE, "password123");
+
+        user = new User();
+        user.setId(1L);
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setGender(Gender.MALE);
+        user.setPassword("encodedPassword");
+        user.setRole(Role.USER);
+    }
+
+    @Test
+    void testRegisterUser_HashesAndLooksUpLocationConcurrently() {
+        // Arrange: each dependency takes 1s of virtual time
+        when(passwordHashingService.encodeAsync("password123"))
+                .thenAnswer(invocation -> Mono.delay(Duration.ofSeconds(1)).thenReturn("encodedPassword").toFuture());
+        IpLocationDto location = new IpLocationDto();
+        location.setCountry("India");
+        when(ipLocationService.getLocationByIp("203.0.113.9"))
+                .thenAnswer(invocation -> Mono.delay(Duration.ofSeconds(1)).thenReturn(location));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(51L);
+            return Mono.just(saved);
+        });
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> userService.registerUser(registrationDto, "203.0.113.9"))
+                .thenAwait(Duration.ofSeconds(1))
+                .assertNext(result -> {
+                    assertEquals(51L, result.getId());
+                    assertEquals("203.0.113.9", result.getIpAddress());
+                    assertEquals("India", result.getCountry());
+                    assertEquals(Role.USER, result.getRole());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        verify(ipLocationService, never()).getCurrentIpAddress();
+    }
+
+    @Test
+    void testRegisterUser_ConstraintViolationMapsToAlreadyExists() {
+        // Arrange
+        when(passwordHashingService.encodeAsync("password123")).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
+        when(ipLocationService.getLocationByIp("203.0.113.9")).thenReturn(Mono.just(new IpLocationDto()));
+        when(userRepository.save(any(User.class))).thenReturn(Mono.error(integrityViolation("23505",
+                "duplicate key value violates unique constraint \"uk_users_email\"")));
+
+        // Act & Assert
+        StepVerifier.create(userService.registerUser(registrationDto, "203.0.113.9"))
+                .expectError(UserAlreadyExistsException.class)
+                .verify();
+    }
+
+    @Test
+    void testRegisterUser_OtherIntegrityViolationIsNotDuplicate() {
+        // Arrange: a NOT NULL violation whose message still mentions the email column
+        when(passwordHashingService.encodeAsync("password123")).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
+        when(ipLocationService.getLocationByIp("203.0.113.9")).thenReturn(Mono.just(new IpLocationDto()));
+        when(userRepository.save(any(User.class))).thenReturn(Mono.error(integrityViolation("23502",
+                "null value in column \"email\" violates not-null constraint")));
+
+        // Act & Assert
+        StepVerifier.create(userService.registerUser(registrationDto, "203.0.113.9"))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String sqlState, String message) {
+        return new DataIntegrityViolationException(message, new R2dbcDataIntegrityViolationException(message, sqlState));
+    }
+
+    @Test
+    void testValidateUser_ValidCredentials() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Mono.just(user));
+        when(passwordHashingService.matchesAsync("password123", "encodedPassword")).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act & Assert
+        StepVerifier.create(userService.validateUser("john@example.com", "password123"))
+                .expectNext(true)
+                .verifyComplete();
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testValidateUser_RehashesOffPolicyHash() {
+        // Arrange
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Mono.just(user));
+        when(passwordHashingService.matchesAsync("password123", "encodedPassword")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHashingService.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encodeAsync("password123")).thenReturn(CompletableFuture.completedFuture("{bcrypt}upgraded"));
+        when(userRepository.save(user)).thenReturn(Mono.just(user));
+
+        // Act & Assert
+        StepVerifier.create(userService.validateUser("john@example.com", "password123"))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals("{bcrypt}upgraded", user.getPassword());
+    }
+
+    @Test
+    void testValidateUser_UserNotFound() {
+        // Arrange
+        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(userService.validateUser("nonexistent@example.com", "password123"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(passwordHashingService, never()).matchesAsync(anyString(), anyString());
+    }
+
+    @Test
+    void testGetAllUsers_RequestsRowsOnDemand() {
+        // Arrange
+        Flux<UserResponseDto> rows = Flux.range(1, 1000).map(i -> {
+            UserResponseDto dto = new UserResponseDto();
+            dto.setId((long) i);
+            return dto;
+        });
+        when(userRepository.findAllSummaries()).thenReturn(rows);
+
+        // Act & Assert: only what the subscriber asked for is emitted
+        StepVerifier.create(userService.getAllUsers(), 2)
+                .expectNextCount(2)
+                .thenRequest(3)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testDeleteUserByEmail() {
+        // Arrange
+        when(userRepository.deleteByEmail("john@example.com")).thenReturn(Mono.just(1));
+        when(userRepository.deleteByEmail("nonexistent@example.com")).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(userService.deleteUserByEmail("john@example.com")).expectNext(true).verifyComplete();
+        StepVerifier.create(userService.deleteUserByEmail("nonexistent@example.com")).expectNext(false).verifyComplete();
+    }
+}
@@ -1,118 +0,0 @@
-package com.tkb.mykare.controller;
-
-import com.tkb.mykare.dto.UserLoginDto;
-import com.tkb.mykare.dto.UserRegistrationDto;
-import com.tkb.mykare.dto.UserResponseDto;
-import com.tkb.mykare.service.UserService;
-import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.responses.ApiResponse;
-import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.*;
-
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-@RestController
-@RequestMapping("/api/users")
-@Tag(name = "User Management", description = "APIs for user registration, authentication, and management")
-public class UserController {
-
-    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
-
-    @Autowired
-    private UserService userService;
-
-    @PostMapping("/register")
-    @Operation(summary = "Register a new user", description = "Register a new user with basic details and capture IP/location information")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "User registered successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data"),
-            @ApiResponse(responseCode = "409", description = "User already exists")
-    })
-    public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
-        logger.info("Registration attempt for user: {}", registrationDto.getEmail());
-        try {
-            UserResponseDto user = userService.registerUser(registrationDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(user);
-        } catch (Exception e) {
-            logger.error("Registration failed for user: {}", registrationDto.getEmail(), e);
-            Map<String, String> error = new HashMap<>();
-            error.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        }
-    }
-
-    @PostMapping("/login")
-    @Operation(summary = "Validate user credentials", description = "Validate user email and password")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Login successful"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
-    })
-    public ResponseEntity<?> loginUser(@Valid @RequestBody UserLoginDto loginDto) {
-        logger.info("Login attempt for user: {}", loginDto.getEmail());
-
-        boolean isValid = userService.validateUser(loginDto.getEmail(), loginDto.getPassword());
-
-        Map<String, Object> response = new HashMap<>();
-        if (isValid) {
-            response.put("message", "Login successful");
-            response.put("email", loginDto.getEmail());
-            return ResponseEntity.ok(response);
-        } else {
-            response.put("message", "Invalid credentials");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
-        }
-    }
-
-    @GetMapping
-    @PreAuthorize("hasRole('ADMIN')")
-    @SecurityRequirement(name = "basicAuth")
-    @Operation(summary = "Get all users", description = "Retrieve all registered users (Admin only)")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
-            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
-    })
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
-        logger.info("Fetching all users");
-//        logger.info("Request made by: {}", userService.getCurrentUserEmail());
-        List<UserResponseDto> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
-    }
-
-    @DeleteMapping("/{email}")
-    @PreAuthorize("hasRole('ADMIN')")
-    @SecurityRequirement(name = "basicAuth")
-    @Operation(summary = "Delete user by email", description = "Delete a user by email (Admin only)")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "User deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "User not found"),
-            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
-    })
-    public ResponseEntity<?> deleteUser(
-            @Parameter(description = "Email of the user to delete", required = true)
-            @PathVariable String email) {
-        boolean deleted = userService.deleteUserByEmail(email);
-
-        Map<String, String> response = new HashMap<>();
-        if (deleted) {
-            response.put("message", "User deleted successfully");
-            return ResponseEntity.ok(response);
-        } else {
-            response.put("message", "User not found");
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-
-        }
-    }
-
-}
@@ -1,14 +0,0 @@
-package com.tkb.mykare.repository;
-
-import com.tkb.mykare.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-    public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-    boolean existsByEmail(String email);
-    void deleteByEmail(String email);
-}
\ No newline at end of file
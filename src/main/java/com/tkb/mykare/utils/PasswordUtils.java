@@ -1,15 +0,0 @@
-package com.tkb.mykare.utils;
-
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-
-public class PasswordUtils {
-    private static final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-
-    public static String encodePassword(String plainPassword) {
-        return encoder.encode(plainPassword);
-    }
-
-    public static boolean matches(String plainPassword, String encodedPassword) {
-        return encoder.matches(plainPassword, encodedPassword);
-    }
-}
\ No newline at end of file
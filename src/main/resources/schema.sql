@@ -1,12 +0,0 @@
-CREATE TABLE IF NOT EXISTS users (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE,
-    gender VARCHAR(20) NOT NULL,
-    password VARCHAR(255) NOT NULL,
-    ip_address VARCHAR(255),
-    country VARCHAR(255),
-    role VARCHAR(20) NOT NULL,
-    created_at TIMESTAMP,
-    updated_at TIMESTAMP
-);